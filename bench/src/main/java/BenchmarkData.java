@@ -0,0 +1,127 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Synthetic, reproducible inputs for the benchmarks: a square board with premium cells and the
+ * designated start in the middle, a dictionary drawn with English letter frequencies, the letter
+ * values and a word set taken from the dictionary.
+ */
+public class BenchmarkData {
+  /* Relative frequency of a-z in English text, in tenths of a percent */
+  private static final int[] LETTER_FREQUENCIES = {
+    82, 15, 28, 43, 127, 22, 20, 61, 70, 2, 8, 40, 24, 67, 75, 19, 1, 60, 63, 91, 28, 10, 24, 2,
+    20, 1
+  };
+  private static final char[] PREMIUM_CELLS = {'.', '.', '.', '.', '.', '.', '2', '3', 'D', 'T'};
+
+  private final String[] puzzleLines;
+  private final String[] dictionaryLines;
+  private final String[] valueLines;
+  private final List<String> words;
+
+  /**
+   * @param boardSize number of rows and columns of the board
+   * @param dictionarySize number of words in the dictionary
+   * @param wordCount number of words to place
+   * @param seed seed of the generator
+   */
+  public BenchmarkData(int boardSize, int dictionarySize, int wordCount, long seed) {
+    Random random = new Random(seed);
+
+    puzzleLines = new String[boardSize];
+    for (int i = 0; i < boardSize; i++) {
+      StringBuilder line = new StringBuilder(boardSize);
+      for (int j = 0; j < boardSize; j++) {
+        boolean isStart = i == boardSize / 2 && j == boardSize / 2;
+        line.append(isStart ? '*' : PREMIUM_CELLS[random.nextInt(PREMIUM_CELLS.length)]);
+      }
+      puzzleLines[i] = line.toString();
+    }
+
+    Set<String> dictionary = new LinkedHashSet<>();
+    while (dictionary.size() < dictionarySize) {
+      dictionary.add(randomWord(random, 2 + random.nextInt(7)));
+    }
+    dictionaryLines = dictionary.toArray(new String[0]);
+
+    valueLines = new String[26];
+    for (char letter = 'a'; letter <= 'z'; letter++) {
+      int value = Math.max(1, 10 - LETTER_FREQUENCIES[letter - 'a'] / 12);
+      valueLines[letter - 'a'] = letter + "\t" + value;
+    }
+
+    /* Words of three letters or more cross each other far more often than random pairs */
+    Set<String> chosen = new LinkedHashSet<>();
+    while (chosen.size() < Math.min(wordCount, dictionaryLines.length)) {
+      String word = dictionaryLines[random.nextInt(dictionaryLines.length)];
+      if (word.length() >= 3 || dictionaryLines.length < wordCount * 4) {
+        chosen.add(word);
+      }
+    }
+    words = new ArrayList<>(chosen);
+  }
+
+  public String[] puzzleLines() {
+    return puzzleLines;
+  }
+
+  public String[] dictionaryLines() {
+    return dictionaryLines;
+  }
+
+  public String[] valueLines() {
+    return valueLines;
+  }
+
+  public List<String> words() {
+    return words;
+  }
+
+  public String puzzleText() {
+    return String.join("\n", puzzleLines) + "\n";
+  }
+
+  public String dictionaryText() {
+    return String.join("\n", dictionaryLines) + "\n";
+  }
+
+  public String valueText() {
+    return String.join("\n", valueLines) + "\n";
+  }
+
+  /**
+   * @return an engine with the board, dictionary and letter values of this data loaded
+   * @throws IOException never, the data being read from strings
+   */
+  public WordPlacement newWordPlacement() throws IOException {
+    WordPlacement wordPlacement = new WordPlacement();
+    wordPlacement.loadBoard(reader(puzzleText()));
+    wordPlacement.dictionary(reader(dictionaryText()));
+    wordPlacement.letterValue(reader(valueText()));
+    return wordPlacement;
+  }
+
+  public static BufferedReader reader(String text) {
+    return new BufferedReader(new StringReader(text));
+  }
+
+  private static String randomWord(Random random, int length) {
+    StringBuilder word = new StringBuilder(length);
+    for (int i = 0; i < length; i++) {
+      int pick = random.nextInt(1000);
+      char letter = 'a';
+      while (pick >= LETTER_FREQUENCIES[letter - 'a'] && letter < 'z') {
+        pick -= LETTER_FREQUENCIES[letter - 'a'];
+        letter++;
+      }
+      word.append(letter);
+    }
+    return word.toString();
+  }
+}
@@ -0,0 +1,49 @@
+import java.nio.file.Files;
+import java.nio.file.Path;
+import wordplacement.bench.DictionaryWorkload;
+
+/** Dictionary workload over a generated dictionary and its compiled image */
+public class EngineDictionaries implements DictionaryWorkload {
+  private final String dictionaryText;
+  private final String[] dictionaryLines;
+  private final Path image;
+  private final WordPlacement wordPlacement = new WordPlacement();
+  private final ValidateStream validateStream = new ValidateStream();
+
+  /**
+   * @param dictionarySize number of words in the dictionary
+   * @throws Exception when the image cannot be written
+   */
+  public EngineDictionaries(int dictionarySize) throws Exception {
+    BenchmarkData data = new BenchmarkData(15, dictionarySize, 1, 42);
+    dictionaryText = data.dictionaryText();
+    dictionaryLines = data.dictionaryLines();
+    image = Files.createTempFile("dictionary", ".dawg");
+    MappedDawg.write(new DictionaryLoader().load(BenchmarkData.reader(dictionaryText)), image);
+  }
+
+  @Override
+  public Object validateDictionary() {
+    return validateStream.validateDictionary(dictionaryLines);
+  }
+
+  @Override
+  public boolean dictionary() throws Exception {
+    return wordPlacement.dictionary(BenchmarkData.reader(dictionaryText));
+  }
+
+  @Override
+  public boolean dictionaryParallel() throws Exception {
+    return wordPlacement.dictionaryParallel(BenchmarkData.reader(dictionaryText));
+  }
+
+  @Override
+  public boolean dictionaryImage() throws Exception {
+    return wordPlacement.dictionaryImage(image);
+  }
+
+  @Override
+  public void close() throws Exception {
+    Files.deleteIfExists(image);
+  }
+}
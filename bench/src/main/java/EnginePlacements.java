@@ -0,0 +1,51 @@
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import wordplacement.bench.PlacementWorkload;
+
+/** Placement workload of an engine loaded with generated data */
+public class EnginePlacements implements PlacementWorkload {
+  private final WordPlacement wordPlacement;
+  private final SolverResources resources;
+  private final List<String> wordList;
+  private final Set<String> wordSet;
+  private final BoardState board;
+  private final List<String> placedWords = new ArrayList<>();
+
+  /**
+   * @param boardSize number of rows and columns of the board
+   * @param dictionarySize number of words in the dictionary
+   * @param wordCount number of words to place
+   * @throws Exception when the generated data cannot be loaded
+   */
+  public EnginePlacements(int boardSize, int dictionarySize, int wordCount) throws Exception {
+    BenchmarkData data = new BenchmarkData(boardSize, dictionarySize, wordCount, 42);
+    wordPlacement = data.newWordPlacement();
+    resources = wordPlacement.resources();
+    wordList = data.words();
+    wordSet = new HashSet<>(wordList);
+    board = resources.puzzleTemplate().newBoard();
+  }
+
+  @Override
+  public void resetBoard() {
+    resources.puzzleTemplate().reset(board);
+    placedWords.clear();
+  }
+
+  @Override
+  public int placeWords() throws WordCantFitException {
+    return resources.placeWords(board, placedWords, wordList);
+  }
+
+  @Override
+  public int solve() throws Exception {
+    return wordPlacement.solve(wordSet);
+  }
+
+  @Override
+  public int solveParallel() throws Exception {
+    return wordPlacement.solveParallel(wordSet);
+  }
+}
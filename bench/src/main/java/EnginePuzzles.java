@@ -0,0 +1,28 @@
+import wordplacement.bench.PuzzleWorkload;
+
+/** Puzzle workload over a generated puzzle */
+public class EnginePuzzles implements PuzzleWorkload {
+  private final String puzzleText;
+  private final String[] puzzleLines;
+  private final WordPlacement wordPlacement = new WordPlacement();
+  private final ValidateStream validateStream = new ValidateStream();
+
+  /**
+   * @param boardSize number of rows and columns of the puzzle
+   */
+  public EnginePuzzles(int boardSize) {
+    BenchmarkData data = new BenchmarkData(boardSize, 100, 1, 42);
+    puzzleText = data.puzzleText();
+    puzzleLines = data.puzzleLines();
+  }
+
+  @Override
+  public boolean loadBoard() throws Exception {
+    return wordPlacement.loadBoard(BenchmarkData.reader(puzzleText));
+  }
+
+  @Override
+  public boolean validatePuzzle() {
+    return validateStream.validatePuzzle(puzzleLines);
+  }
+}
@@ -0,0 +1,43 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import wordplacement.bench.ScoringWorkload;
+
+/** Scoring workload over candidates spread across a generated board */
+public class EngineScoring implements ScoringWorkload {
+  private static final int CANDIDATES = 1024; /* A power of two, for the cycling mask */
+
+  private final PlaceWord placeWord;
+  private final int[] rows = new int[CANDIDATES];
+  private final int[] columns = new int[CANDIDATES];
+  private final String[] words = new String[CANDIDATES];
+  private final boolean[] horizontals = new boolean[CANDIDATES];
+  private int next;
+
+  /**
+   * @param boardSize number of rows and columns of the board
+   * @throws Exception when the generated data cannot be loaded
+   */
+  public EngineScoring(int boardSize) throws Exception {
+    BenchmarkData data = new BenchmarkData(boardSize, 1000, 8, 42);
+    SolverResources resources = data.newWordPlacement().resources();
+    placeWord = resources.newPlaceWord(resources.puzzleTemplate().newBoard(), new ArrayList<>());
+
+    Random random = new Random(42);
+    List<String> candidates = data.words();
+    for (int k = 0; k < CANDIDATES; k++) {
+      String word = candidates.get(random.nextInt(candidates.size()));
+      int span = Math.max(1, boardSize - word.length() + 1);
+      horizontals[k] = random.nextBoolean();
+      words[k] = word;
+      rows[k] = horizontals[k] ? random.nextInt(boardSize) : random.nextInt(span);
+      columns[k] = horizontals[k] ? random.nextInt(span) : random.nextInt(boardSize);
+    }
+  }
+
+  @Override
+  public int scoreNext() {
+    int k = next++ & (CANDIDATES - 1);
+    return placeWord.calculateScoreOnBoard(rows[k], columns[k], words[k], horizontals[k]);
+  }
+}
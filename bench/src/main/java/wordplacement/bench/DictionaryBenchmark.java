@@ -0,0 +1,62 @@
+package wordplacement.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@code ValidateStream.validateDictionary} and the {@code WordPlacement} dictionary loads, from
+ * text sequentially and in parallel and from a compiled image, by dictionary size
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DictionaryBenchmark {
+  @Param({"1000", "100000"})
+  public int dictionary;
+
+  private DictionaryWorkload workload;
+
+  @Setup
+  public void generate() throws Exception {
+    workload = Workloads.create(DictionaryWorkload.class, "EngineDictionaries", dictionary);
+  }
+
+  @TearDown
+  public void close() throws Exception {
+    workload.close();
+  }
+
+  @Benchmark
+  public Object validateDictionary() {
+    return workload.validateDictionary();
+  }
+
+  @Benchmark
+  public boolean dictionary() throws Exception {
+    return workload.dictionary();
+  }
+
+  @Benchmark
+  public boolean dictionaryParallel() throws Exception {
+    return workload.dictionaryParallel();
+  }
+
+  @Benchmark
+  public boolean dictionaryImage() throws Exception {
+    return workload.dictionaryImage();
+  }
+}
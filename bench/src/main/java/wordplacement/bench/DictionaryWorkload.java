@@ -0,0 +1,15 @@
+package wordplacement.bench;
+
+/** Validation and loading of a dictionary, see {@link DictionaryBenchmark} */
+public interface DictionaryWorkload {
+  Object validateDictionary();
+
+  boolean dictionary() throws Exception;
+
+  boolean dictionaryParallel() throws Exception;
+
+  boolean dictionaryImage() throws Exception;
+
+  /** Deletes the dictionary image written for {@link #dictionaryImage()} */
+  void close() throws Exception;
+}
@@ -0,0 +1,66 @@
+package wordplacement.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@code PlaceWord.placeWords}, {@code WordPlacement.solve} and {@code solveParallel} over
+ * generated boards, dictionaries and word sets. Run with {@code -prof gc} for the bytes allocated
+ * per operation, those of the solver workers included.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PlacementBenchmark {
+  @Param({"15", "50"})
+  public int board;
+
+  @Param({"1000", "100000"})
+  public int dictionary;
+
+  @Param({"4", "6"})
+  public int words;
+
+  private PlacementWorkload workload;
+
+  @Setup(Level.Trial)
+  public void load() throws Exception {
+    workload =
+        Workloads.create(PlacementWorkload.class, "EnginePlacements", board, dictionary, words);
+  }
+
+  /* Placing adds to the board, so every placement starts from the puzzle again, out of the timing */
+  @Setup(Level.Invocation)
+  public void resetBoard() {
+    workload.resetBoard();
+  }
+
+  @Benchmark
+  public int placeWords() throws Exception {
+    return workload.placeWords();
+  }
+
+  @Benchmark
+  public int solve() throws Exception {
+    return workload.solve();
+  }
+
+  @Benchmark
+  public int solveParallel() throws Exception {
+    return workload.solveParallel();
+  }
+}
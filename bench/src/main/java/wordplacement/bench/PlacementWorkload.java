@@ -0,0 +1,13 @@
+package wordplacement.bench;
+
+/** Placement and solves on a loaded engine, see {@link PlacementBenchmark} */
+public interface PlacementWorkload {
+  /** Puts the board placed on by {@link #placeWords()} back into the starting state */
+  void resetBoard();
+
+  int placeWords() throws Exception;
+
+  int solve() throws Exception;
+
+  int solveParallel() throws Exception;
+}
@@ -0,0 +1,43 @@
+package wordplacement.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** {@code WordPlacement.loadBoard} and {@code ValidateStream.validatePuzzle} by board size */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PuzzleBenchmark {
+  @Param({"15", "50", "1000"})
+  public int board;
+
+  private PuzzleWorkload workload;
+
+  @Setup
+  public void generate() throws Exception {
+    workload = Workloads.create(PuzzleWorkload.class, "EnginePuzzles", board);
+  }
+
+  @Benchmark
+  public boolean loadBoard() throws Exception {
+    return workload.loadBoard();
+  }
+
+  @Benchmark
+  public boolean validatePuzzle() {
+    return workload.validatePuzzle();
+  }
+}
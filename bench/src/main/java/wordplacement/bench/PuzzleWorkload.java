@@ -0,0 +1,8 @@
+package wordplacement.bench;
+
+/** Loading and validation of a puzzle, see {@link PuzzleBenchmark} */
+public interface PuzzleWorkload {
+  boolean loadBoard() throws Exception;
+
+  boolean validatePuzzle();
+}
@@ -0,0 +1,42 @@
+package wordplacement.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The scoring kernel {@code PlaceWord.calculateScoreOnBoard} alone, called for every candidate of
+ * every placement. Under {@code -prof gc} its {@code gc.alloc.rate.norm} should be 0 bytes per
+ * operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ScoringBenchmark {
+  @Param({"15", "50"})
+  public int board;
+
+  private ScoringWorkload workload;
+
+  @Setup
+  public void load() throws Exception {
+    workload = Workloads.create(ScoringWorkload.class, "EngineScoring", board);
+  }
+
+  @Benchmark
+  public int calculateScoreOnBoard() {
+    return workload.scoreNext();
+  }
+}
@@ -0,0 +1,9 @@
+package wordplacement.bench;
+
+/** Scoring of candidate placements, see {@link ScoringBenchmark} */
+public interface ScoringWorkload {
+  /**
+   * @return the score of the next candidate, cycling through a fixed set of candidates
+   */
+  int scoreNext();
+}
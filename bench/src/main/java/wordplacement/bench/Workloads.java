@@ -0,0 +1,32 @@
+package wordplacement.bench;
+
+/**
+ * Creates the workloads the benchmarks run. JMH needs benchmarks in a named package while the
+ * engine lives in the default package, which a named package cannot refer to, so each workload is
+ * an interface of this package implemented by a class of the default package, created once per
+ * trial by name. The benchmarks then only make interface calls, which the JIT inlines.
+ */
+final class Workloads {
+  private Workloads() {}
+
+  /**
+   * @param type the workload interface
+   * @param implementation name of the implementing class, in the default package
+   * @param sizes the arguments of the constructor of the class, all ints
+   * @return the workload
+   * @throws ReflectiveOperationException when the class cannot be created
+   */
+  static <T> T create(Class<T> type, String implementation, int... sizes)
+      throws ReflectiveOperationException {
+    Class<?>[] parameters = new Class<?>[sizes.length];
+    Object[] arguments = new Object[sizes.length];
+    for (int i = 0; i < sizes.length; i++) {
+      parameters[i] = int.class;
+      arguments[i] = sizes[i];
+    }
+    return Class.forName(implementation)
+        .asSubclass(type)
+        .getConstructor(parameters)
+        .newInstance(arguments);
+  }
+}
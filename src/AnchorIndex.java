@@ -0,0 +1,130 @@
+import java.util.Arrays;
+
+/**
+ * The cells of a board holding each letter, and the cells holding the first word marker {@code
+ * '*'}, so that the scan for the best placement of a word visits only the tiles sharing a letter
+ * with it instead of every cell. Each list is kept sorted by cell index, {@code row * columns +
+ * column}, and updated as the cells change, so the anchors of a word come out in the row-major
+ * order of a full scan.
+ *
+ * <p>The empty cells next to tiles are tracked by the sparse masks of {@link CrossChecks}.
+ */
+public class AnchorIndex {
+  private static final int STAR = 26; /* Slot of the '*' cells, after the 26 letters */
+  private static final int NONE = -1;
+
+  private final BoardState board;
+  private final int columns;
+  private final int[][] cells = new int[STAR + 1][];
+  private final int[] sizes = new int[STAR + 1];
+  private final IntIntMap slots = new IntIntMap(); /* Slot of each indexed cell */
+
+  /**
+   * Indexes the given board
+   *
+   * @param board the live board, read again on every update
+   */
+  public AnchorIndex(BoardState board) {
+    this.board = board;
+    this.columns = board.columns();
+    for (int slot = 0; slot <= STAR; slot++) {
+      cells[slot] = new int[8];
+    }
+
+    for (int i = 0; i < board.rows(); i++) {
+      for (int j = 0; j < columns; j++) {
+        if (slotOf(board.letter(i, j)) != NONE) {
+          cellChanged(i, j);
+        }
+      }
+    }
+  }
+
+  /**
+   * Collects the cells the scan for a word visits: the '*' cells, and the tiles holding one of the
+   * letters of the word unless the word is already on the board
+   *
+   * @param word the word to be placed
+   * @param isPlaced true if the word is already on the board, leaving the '*' cells only
+   * @return the cell indices, in row-major order
+   */
+  public int[] anchorsOf(String word, boolean isPlaced) {
+    int letters = 1 << STAR;
+    for (int k = 0; !isPlaced && k < word.length(); k++) {
+      int slot = slotOf(word.charAt(k));
+      if (slot != NONE) {
+        letters |= 1 << slot;
+      }
+    }
+
+    int count = 0;
+    for (int slot = 0; slot <= STAR; slot++) {
+      if ((letters & (1 << slot)) != 0) {
+        count += sizes[slot];
+      }
+    }
+    int[] anchors = new int[count];
+    int position = 0;
+    for (int slot = 0; slot <= STAR; slot++) {
+      if ((letters & (1 << slot)) != 0) {
+        System.arraycopy(cells[slot], 0, anchors, position, sizes[slot]);
+        position += sizes[slot];
+      }
+    }
+    /* A cell holds one character, so the lists are disjoint */
+    Arrays.sort(anchors);
+    return anchors;
+  }
+
+  /**
+   * Moves the given cell to the list of the character it now holds
+   *
+   * @param row the row
+   * @param column the column
+   */
+  public void cellChanged(int row, int column) {
+    int cell = row * columns + column;
+    int oldSlot = slots.get(cell, NONE);
+    int newSlot = slotOf(board.letter(row, column));
+    if (oldSlot == newSlot) {
+      return;
+    }
+
+    if (oldSlot != NONE) {
+      remove(oldSlot, cell);
+      slots.remove(cell);
+    }
+    if (newSlot != NONE) {
+      insert(newSlot, cell);
+      slots.put(cell, newSlot);
+    }
+  }
+
+  private void insert(int slot, int cell) {
+    int size = sizes[slot];
+    if (size == cells[slot].length) {
+      cells[slot] = Arrays.copyOf(cells[slot], size * 2);
+    }
+    int position = -Arrays.binarySearch(cells[slot], 0, size, cell) - 1;
+    System.arraycopy(cells[slot], position, cells[slot], position + 1, size - position);
+    cells[slot][position] = cell;
+    sizes[slot]++;
+  }
+
+  private void remove(int slot, int cell) {
+    int position = Arrays.binarySearch(cells[slot], 0, sizes[slot], cell);
+    System.arraycopy(cells[slot], position + 1, cells[slot], position, sizes[slot] - position - 1);
+    sizes[slot]--;
+  }
+
+  /**
+   * @param character a character of the board or of a word
+   * @return the list holding the character, or -1 for the characters that are not indexed
+   */
+  private static int slotOf(char character) {
+    if (character >= 'a' && character <= 'z') {
+      return character - 'a';
+    }
+    return character == '*' ? STAR : NONE;
+  }
+}
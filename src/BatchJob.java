@@ -0,0 +1,126 @@
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * One puzzle job of a batch manifest. A manifest line holds six tab separated fields: the job id,
+ * the mode ({@code place} or {@code solve}), the puzzle file, the dictionary file (a word list, or
+ * a {@code .dawg} image written by {@link DictionaryCompiler}), the letter value file and the
+ * comma separated words. Relative paths are resolved against the directory of the manifest.
+ */
+public final class BatchJob {
+  private static final int FIELD_COUNT = 6;
+
+  private final String id;
+  private final boolean optimal; /* solve rather than place in the given order */
+  private final Path puzzle;
+  private final Path dictionary;
+  private final Path values;
+  private final List<String> words;
+
+  private BatchJob(
+      String id, boolean optimal, Path puzzle, Path dictionary, Path values, List<String> words) {
+    this.id = id;
+    this.optimal = optimal;
+    this.puzzle = puzzle;
+    this.dictionary = dictionary;
+    this.values = values;
+    this.words = words;
+  }
+
+  /**
+   * Parses a manifest line
+   *
+   * @param line the line
+   * @param baseDirectory directory the relative paths are resolved against
+   * @return the job
+   * @throws IllegalArgumentException when the line is not a valid job
+   */
+  public static BatchJob parse(String line, Path baseDirectory) {
+    String[] fields = line.split("\t", -1);
+    if (fields.length != FIELD_COUNT) {
+      throw new IllegalArgumentException(
+          "Expected " + FIELD_COUNT + " tab separated fields but found " + fields.length);
+    }
+
+    String id = fields[0].trim();
+    if (id.isEmpty()) {
+      throw new IllegalArgumentException("Missing job id");
+    }
+
+    boolean optimal;
+    switch (fields[1].trim()) {
+      case "place":
+        optimal = false;
+        break;
+      case "solve":
+        optimal = true;
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown mode " + fields[1].trim() + " of job " + id);
+    }
+
+    List<String> words = new ArrayList<>();
+    for (String word : fields[5].split(",")) {
+      if (!word.trim().isEmpty()) {
+        words.add(word.trim());
+      }
+    }
+
+    return new BatchJob(
+        id,
+        optimal,
+        resolve(baseDirectory, fields[2]),
+        resolve(baseDirectory, fields[3]),
+        resolve(baseDirectory, fields[4]),
+        words);
+  }
+
+  public String id() {
+    return id;
+  }
+
+  /**
+   * @return true if the words are to be placed in their optimal order, false if in the given order
+   */
+  public boolean isOptimal() {
+    return optimal;
+  }
+
+  public Path puzzle() {
+    return puzzle;
+  }
+
+  public Path dictionary() {
+    return dictionary;
+  }
+
+  public Path values() {
+    return values;
+  }
+
+  /**
+   * @return the words in the order of the manifest
+   */
+  public List<String> words() {
+    return words;
+  }
+
+  /**
+   * @return the distinct words, for a solve
+   */
+  public Set<String> wordSet() {
+    return new LinkedHashSet<>(words);
+  }
+
+  private static Path resolve(Path baseDirectory, String field) {
+    return baseDirectory.resolve(field.trim()).toAbsolutePath().normalize();
+  }
+
+  @Override
+  public String toString() {
+    return id + " " + (optimal ? "solve" : "place") + " " + words;
+  }
+}
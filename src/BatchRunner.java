@@ -0,0 +1,275 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Runs the puzzle jobs of batch manifests on a bounded pool of workers. Every distinct puzzle,
+ * dictionary and letter value file is loaded once and shared by all the jobs that name it. The
+ * manifests are read as the jobs run, and each result is written to the output as soon as its job
+ * finishes, one line per job: the job id, then either the score and the comma separated word order
+ * or {@code ERROR} and the reason, separated by tabs.
+ */
+public class BatchRunner {
+  /* Jobs read ahead of the workers, per worker, so that the manifest is never read into memory */
+  private static final int QUEUED_JOBS_PER_WORKER = 4;
+
+  private final int workers;
+  private final Path boardDirectory; /* null when the final boards are not written */
+  private final PlacementCache placementCache; /* shared by every job, null when not caching */
+  private final Map<Path, CompletableFuture<PuzzleTemplate>> puzzles = new ConcurrentHashMap<>();
+  private final Map<Path, CompletableFuture<WordDictionary>> dictionaries =
+      new ConcurrentHashMap<>();
+  private final Map<Path, CompletableFuture<LetterValues>> values = new ConcurrentHashMap<>();
+  /* By dictionary and letter value files, so that solves do not each walk the whole dictionary */
+  private final Map<List<Path>, CompletableFuture<Long>> maxWordValues = new ConcurrentHashMap<>();
+
+  /** Loads or computes one kind of shared resource */
+  private interface Loader<K, T> {
+    T load(K key) throws IOException;
+  }
+
+  /**
+   * @param workers number of jobs solved at the same time
+   * @param boardDirectory directory receiving the final board of every job as {@code <id>.txt},
+   *     or null to skip the boards
+   */
+  public BatchRunner(int workers, Path boardDirectory) {
+    this(workers, boardDirectory, null);
+  }
+
+  /**
+   * @param workers number of jobs solved at the same time
+   * @param boardDirectory directory receiving the final board of every job as {@code <id>.txt},
+   *     or null to skip the boards
+   * @param placementCache cache of best placements shared by every job, or null
+   */
+  public BatchRunner(int workers, Path boardDirectory, PlacementCache placementCache) {
+    if (workers <= 0) {
+      throw new IllegalArgumentException("Number of workers must be positive: " + workers);
+    }
+    this.workers = workers;
+    this.boardDirectory = boardDirectory;
+    this.placementCache = placementCache;
+  }
+
+  /**
+   * Runs every job of a manifest, or of every {@code .jobs} manifest of a directory in name order
+   *
+   * @param manifest the manifest file or directory
+   * @param output where the results are written
+   * @return number of jobs that failed
+   * @throws IOException when a manifest cannot be read
+   * @throws InterruptedException when interrupted while waiting for the jobs
+   */
+  public int run(Path manifest, PrintWriter output) throws IOException, InterruptedException {
+    List<Path> manifests = new ArrayList<>();
+    if (Files.isDirectory(manifest)) {
+      try (Stream<Path> files = Files.list(manifest)) {
+        manifests =
+            files
+                .filter(file -> file.getFileName().toString().endsWith(".jobs"))
+                .sorted()
+                .collect(Collectors.toList());
+      }
+    } else {
+      manifests.add(manifest);
+    }
+    if (boardDirectory != null) {
+      Files.createDirectories(boardDirectory);
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(workers);
+    Semaphore queuedJobs = new Semaphore(workers * QUEUED_JOBS_PER_WORKER);
+    AtomicInteger failedJobs = new AtomicInteger();
+    try {
+      for (Path file : manifests) {
+        Path baseDirectory = file.toAbsolutePath().getParent();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+          String line;
+          int lineNumber = 0;
+          while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            /* Blank lines and comments */
+            if (line.trim().isEmpty() || line.startsWith("#")) {
+              continue;
+            }
+
+            BatchJob job;
+            try {
+              job = BatchJob.parse(line, baseDirectory);
+            } catch (IllegalArgumentException exception) {
+              failedJobs.incrementAndGet();
+              String location = file.getFileName() + ":" + lineNumber;
+              write(output, location + "\tERROR\t" + exception.getMessage());
+              continue;
+            }
+
+            queuedJobs.acquire();
+            executor.execute(
+                () -> {
+                  try {
+                    write(output, runJob(job, failedJobs));
+                  } finally {
+                    queuedJobs.release();
+                  }
+                });
+          }
+        }
+      }
+    } finally {
+      executor.shutdown();
+      executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+      output.flush();
+    }
+    return failedJobs.get();
+  }
+
+  /**
+   * Runs one job
+   *
+   * @param job the job
+   * @param failedJobs counter incremented when the job fails
+   * @return the result line of the job
+   */
+  private String runJob(BatchJob job, AtomicInteger failedJobs) {
+    try {
+      PuzzleTemplate puzzle = load(puzzles, job.puzzle(), BatchRunner::loadPuzzle);
+      WordDictionary dictionary =
+          load(dictionaries, job.dictionary(), BatchRunner::loadDictionary);
+      LetterValues letterValues = load(values, job.values(), BatchRunner::loadValues);
+      /* Only the solves bound their search with it */
+      long maxWordValue =
+          job.isOptimal()
+              ? load(
+                  maxWordValues,
+                  List.of(job.dictionary(), job.values()),
+                  key -> ScoreBounds.maxWordValue(dictionary, letterValues))
+              : -1;
+      SolverResources resources =
+          new SolverResources(puzzle, dictionary, letterValues, placementCache, maxWordValue);
+      SolveSession session = resources.newSession();
+
+      int score;
+      List<String> wordOrder;
+      if (job.isOptimal()) {
+        score = session.solve(job.wordSet());
+        wordOrder = session.wordOrder();
+      } else {
+        score = session.placeWords(job.words());
+        wordOrder = session.placedWords();
+      }
+
+      if (boardDirectory != null) {
+        Files.writeString(
+            boardDirectory.resolve(job.id() + ".txt"), session.boardText(), StandardCharsets.UTF_8);
+      }
+      return job.id() + "\t" + score + "\t" + String.join(",", wordOrder);
+    } catch (WordCantFitException exception) {
+      failedJobs.incrementAndGet();
+      return job.id() + "\tERROR\t" + exception.getMessage();
+    } catch (IOException | RuntimeException exception) {
+      failedJobs.incrementAndGet();
+      Throwable cause = exception instanceof CompletionException ? exception.getCause() : exception;
+      if (cause instanceof NoSuchFileException) {
+        return job.id() + "\tERROR\tNo such file: " + cause.getMessage();
+      }
+      if (cause instanceof Error) {
+        return job.id() + "\tERROR\t" + cause;
+      }
+      return job.id() + "\tERROR\t" + cause.getMessage();
+    } catch (Error error) {
+      /* A job running out of memory or stack fails alone, the other jobs and the batch go on */
+      failedJobs.incrementAndGet();
+      return job.id() + "\tERROR\t" + error;
+    }
+  }
+
+  /**
+   * Returns the resource loaded from a file, or computed from files, loading it on first use. Jobs
+   * asking for a resource that is being loaded wait for that load instead of starting their own.
+   *
+   * @param cache the loaded resources of this kind
+   * @param key the file, or the files the resource is computed from
+   * @param loader loads the resource
+   * @return the resource
+   * @throws CompletionException when the resource could not be loaded
+   */
+  private static <K, T> T load(Map<K, CompletableFuture<T>> cache, K key, Loader<K, T> loader) {
+    CompletableFuture<T> future = cache.get(key);
+    if (future == null) {
+      CompletableFuture<T> loading = new CompletableFuture<>();
+      future = cache.putIfAbsent(key, loading);
+      if (future == null) {
+        future = loading;
+        try {
+          loading.complete(loader.load(key));
+        } catch (IOException | RuntimeException exception) {
+          loading.completeExceptionally(exception);
+        } catch (Error error) {
+          /* The jobs waiting for the file fail too, and a later job loads it again */
+          cache.remove(key, loading);
+          loading.completeExceptionally(error);
+          throw error;
+        }
+      }
+    }
+    return future.join();
+  }
+
+  private static PuzzleTemplate loadPuzzle(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      return PuzzleParser.parse(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    } catch (PuzzleFormatException invalidPuzzle) {
+      throw new IOException("Invalid puzzle: " + path + ", " + invalidPuzzle.getMessage());
+    }
+  }
+
+  private static WordDictionary loadDictionary(Path path) throws IOException {
+    if (path.getFileName().toString().endsWith(".dawg")) {
+      return MappedDawg.open(path);
+    }
+    try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+      WordDictionary dictionary = new DictionaryLoader().load(reader);
+      if (dictionary == null) {
+        throw new IOException("Invalid dictionary: " + path);
+      }
+      return dictionary;
+    }
+  }
+
+  private static LetterValues loadValues(Path path) throws IOException {
+    try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+      LetterValues letterValues = LetterValues.read(reader);
+      if (letterValues == null) {
+        throw new IOException("Invalid letter values: " + path);
+      }
+      return letterValues;
+    }
+  }
+
+  private static void write(PrintWriter output, String line) {
+    synchronized (output) {
+      output.println(line);
+      output.flush();
+    }
+  }
+}
@@ -0,0 +1,165 @@
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs many {@code placeWords} and {@code solve} requests concurrently against the same {@link
+ * SolverResources}, each request in a session of its own. By default every request gets a virtual
+ * thread; on a runtime without virtual threads the requests share one platform thread per
+ * processor.
+ */
+public class BatchSolver implements AutoCloseable {
+  private final SolverResources resources;
+  private final ExecutorService executor;
+  private final boolean ownsExecutor; /* Only an executor created here is shut down on close */
+
+  /**
+   * Creates a batch solver running each request on a virtual thread where available
+   *
+   * @param resources the shared resources
+   */
+  public BatchSolver(SolverResources resources) {
+    this(resources, newRequestExecutor(), true);
+  }
+
+  /**
+   * Creates a batch solver running the requests on the given executor, left open on close
+   *
+   * @param resources the shared resources
+   * @param executor the executor running the requests
+   */
+  public BatchSolver(SolverResources resources, ExecutorService executor) {
+    this(resources, executor, false);
+  }
+
+  private BatchSolver(SolverResources resources, ExecutorService executor, boolean ownsExecutor) {
+    this.resources = resources;
+    this.executor = executor;
+    this.ownsExecutor = ownsExecutor;
+  }
+
+  /**
+   * Places the words in the order of the list on a fresh board
+   *
+   * @param words list of words
+   * @return the result, completed exceptionally with a {@link WordCantFitException} when the first
+   *     word can't fit on the board
+   */
+  public CompletableFuture<SolveResult> placeWords(List<String> words) {
+    return CompletableFuture.supplyAsync(
+        () -> {
+          SolveSession session = resources.newSession();
+          try {
+            int score = session.placeWords(words);
+            return new SolveResult(score, session.placedWords(), session.boardText());
+          } catch (WordCantFitException exception) {
+            throw new CompletionException(exception);
+          }
+        },
+        executor);
+  }
+
+  /**
+   * Places the words in the order that gives the highest total score on a fresh board
+   *
+   * @param words set of words
+   * @return the result
+   */
+  public CompletableFuture<SolveResult> solve(Set<String> words) {
+    return CompletableFuture.supplyAsync(
+        () -> {
+          SolveSession session = resources.newSession();
+          int score = session.solve(words);
+          return new SolveResult(score, session.wordOrder(), session.boardText());
+        },
+        executor);
+  }
+
+  /**
+   * Searches for the best ordering with the given strategy within a time budget, on a fresh board.
+   * The budget runs from the submission of the request, and cancelling the future stops the search
+   * at its next poll.
+   *
+   * @param words set of words
+   * @param strategy the search strategy
+   * @param budget the time the search may take
+   * @return the result, telling whether the search completed and how much higher the optimal
+   *     score may be
+   */
+  public CompletableFuture<SolveResult> solve(
+      Set<String> words, SolveStrategy strategy, Duration budget) {
+    SearchBudget searchBudget = SearchBudget.of(budget);
+    CompletableFuture<SolveResult> future =
+        CompletableFuture.supplyAsync(
+            () -> resources.newSession().solve(words, strategy, searchBudget), executor);
+    future.whenComplete(
+        (result, failure) -> {
+          if (future.isCancelled()) {
+            searchBudget.cancel();
+          }
+        });
+    return future;
+  }
+
+  /**
+   * Solves every request concurrently and waits for all of them
+   *
+   * @param requests sets of words, one per request
+   * @return the results, in the order of the requests
+   */
+  public List<SolveResult> solveAll(Collection<Set<String>> requests) {
+    List<CompletableFuture<SolveResult>> futures = new ArrayList<>(requests.size());
+    for (Set<String> words : requests) {
+      futures.add(solve(words));
+    }
+
+    List<SolveResult> results = new ArrayList<>(futures.size());
+    for (CompletableFuture<SolveResult> future : futures) {
+      results.add(future.join());
+    }
+    return results;
+  }
+
+  /** Shuts down the executor if this solver created it, after the submitted requests finish */
+  @Override
+  public void close() {
+    if (ownsExecutor) {
+      executor.shutdown();
+      try {
+        executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+      } catch (InterruptedException interruptedException) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  /**
+   * @return an executor starting a virtual thread per request, or a pool of one platform thread
+   *     per processor when the runtime has no virtual threads
+   */
+  static ExecutorService newRequestExecutor() {
+    try {
+      /* Looked up reflectively so that the code still compiles and runs on older runtimes */
+      MethodHandle factory =
+          MethodHandles.publicLookup()
+              .findStatic(
+                  Executors.class,
+                  "newVirtualThreadPerTaskExecutor",
+                  MethodType.methodType(ExecutorService.class));
+      return (ExecutorService) factory.invokeExact();
+    } catch (Throwable throwable) {
+      /* Missing before Java 19, and a disabled preview feature on Java 19 and 20 */
+      return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    }
+  }
+}
@@ -0,0 +1,264 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Beam search over the orderings of a set of words: the partial orderings are extended one word
+ * at a time, and only the {@code width} best of them, by score so far, are kept at each depth. The
+ * work grows with {@code width * n^2} placements instead of {@code n!}, at the cost of optimality.
+ * When no partial ordering of the beam can be extended, the best dropped ones of the deepest depth
+ * become the beam, until the search has made about {@code 4 * width * n^2} placements, so that a
+ * set where some word can never be placed does not turn into a search of every ordering. At least
+ * 8192 placements are allowed, enough to try every ordering of up to 6 words, so an ordering of
+ * such a set is found whenever one exists. The bound of every dropped partial ordering never taken
+ * back is recorded in the budget.
+ *
+ * <p>A partial ordering is not kept on a board of its own: it is replayed on one engine, extended
+ * by each remaining word and taken back through the {@link PlaceWord} undo journal.
+ */
+public class BeamSearch implements SolveStrategy {
+  private static final int UNSOLVED = -1;
+  /* Placements allowed to the whole search, in units of width * n^2, before it stops taking back */
+  private static final int TAKE_BACK_FACTOR = 4;
+  /* Placements always allowed, more than extending every prefix of 6 words once takes */
+  private static final int MIN_PLACEMENTS = 8192;
+  private static final Comparator<Partial> BY_BASE =
+      Comparator.comparingInt((Partial partial) -> partial.base).reversed();
+
+  private final int width;
+
+  /**
+   * @param width number of partial orderings kept at each depth
+   */
+  public BeamSearch(int width) {
+    if (width < 1) {
+      throw new IllegalArgumentException("Beam width must be at least 1: " + width);
+    }
+    this.width = width;
+  }
+
+  public int width() {
+    return width;
+  }
+
+  @Override
+  public String name() {
+    return "Beam search of width " + width;
+  }
+
+  @Override
+  public BestOrdering search(SolverResources resources, Set<String> words, SearchBudget budget) {
+    String[] wordArray = new ArrayList<>(words).toArray(new String[0]);
+    ScoreBounds bounds = resources.scoreBounds(wordArray);
+    PlaceWord placeWord =
+        resources.newPlaceWord(resources.puzzleTemplate().newBoard(), new ArrayList<>());
+    placeWord.setSolveWords(new HashSet<>(words));
+    BestOrdering best = new BestOrdering();
+
+    /* Partial orderings dropped from the beam, by number of words, taken up if the beam dies out */
+    List<List<Partial>> dropped = new ArrayList<>();
+    for (int depth = 0; depth <= wordArray.length; depth++) {
+      dropped.add(new ArrayList<>());
+    }
+
+    List<Partial> beam = List.of(new Partial(new String[0], 0, 0));
+    int depth = 0;
+    long placementsLeft =
+        Math.max(
+            MIN_PLACEMENTS, (long) TAKE_BACK_FACTOR * width * wordArray.length * wordArray.length);
+    while (depth < wordArray.length) {
+      List<Partial> children = new ArrayList<>();
+      for (int k = 0; k < beam.size(); k++) {
+        if (budget.isExhausted()) {
+          List<Partial> unexplored = new ArrayList<>(children);
+          unexplored.addAll(beam.subList(k, beam.size()));
+          for (Partial partial : unexplored) {
+            budget.recordStop(bounds.ofCompletions(partial.base, remaining(wordArray, partial), 0));
+          }
+          recordDropped(bounds, wordArray, budget, dropped);
+          /* The best partial orderings are finished without searching, highest bounds first */
+          complete(placeWord, bounds, wordArray, best, unexplored);
+          return best;
+        }
+        extend(placeWord, wordArray, beam.get(k), children);
+        /* The partial ordering is replayed, then every other word is tried after it */
+        placementsLeft -= wordArray.length;
+      }
+
+      if (children.isEmpty()) {
+        if (placementsLeft <= 0) {
+          recordDropped(bounds, wordArray, budget, dropped);
+          return best;
+        }
+        /* No ordering goes on from the beam, so the deepest dropped partial orderings go on */
+        beam = takeBack(dropped);
+        if (beam.isEmpty()) {
+          return best;
+        }
+        depth = beam.get(0).order.length;
+        continue;
+      }
+
+      /* Stable, so ties keep the order the children were generated in */
+      children.sort(BY_BASE);
+      int kept = Math.min(width, children.size());
+      dropped.get(depth + 1).addAll(children.subList(kept, children.size()));
+      beam = new ArrayList<>(children.subList(0, kept));
+      depth++;
+    }
+
+    /* Earlier entries of the beam win ties */
+    for (int k = 0; k < beam.size(); k++) {
+      best.offer(beam.get(k).base, beam.size() - k, beam.get(k).order);
+    }
+    recordDropped(bounds, wordArray, budget, dropped);
+    return best;
+  }
+
+  /**
+   * Takes the best partial orderings of the deepest depth that has dropped ones, as the next beam
+   *
+   * @param dropped the dropped partial orderings, by number of words
+   * @return the new beam, empty when no partial ordering is left
+   */
+  private List<Partial> takeBack(List<List<Partial>> dropped) {
+    for (int depth = dropped.size() - 1; depth >= 0; depth--) {
+      List<Partial> partials = dropped.get(depth);
+      if (!partials.isEmpty()) {
+        partials.sort(BY_BASE);
+        int taken = Math.min(width, partials.size());
+        List<Partial> beam = new ArrayList<>(partials.subList(0, taken));
+        partials.subList(0, taken).clear();
+        return beam;
+      }
+    }
+    return List.of();
+  }
+
+  /* The dropped partial orderings never taken back are the ones the search left unexplored */
+  private static void recordDropped(
+      ScoreBounds bounds, String[] words, SearchBudget budget, List<List<Partial>> dropped) {
+    for (List<Partial> partials : dropped) {
+      for (Partial partial : partials) {
+        budget.recordUnexplored(bounds.ofCompletions(partial.base, remaining(words, partial), 0));
+      }
+    }
+  }
+
+  /**
+   * Collects every one word extension of a partial ordering that can be placed
+   *
+   * @param placeWord the engine, on a board without words
+   * @param words every word of the solve, in the order the extensions are tried
+   * @param partial the partial ordering
+   * @param children receives the extensions
+   */
+  private static void extend(
+      PlaceWord placeWord, String[] words, Partial partial, List<Partial> children) {
+    for (String word : partial.order) {
+      placeWord.place(word);
+    }
+
+    Set<String> placed = new HashSet<>(Arrays.asList(partial.order));
+    for (String word : words) {
+      if (!placed.contains(word)) {
+        int wordScore = placeWord.place(word);
+        if (wordScore != UNSOLVED) {
+          int score = partial.score + wordScore;
+          children.add(
+              new Partial(append(partial.order, word), score, score + placeWord.augmentedScore()));
+        }
+        placeWord.undo();
+      }
+    }
+
+    for (int k = 0; k < partial.order.length; k++) {
+      placeWord.undo();
+    }
+  }
+
+  /**
+   * Finishes the given partial orderings, best first, by placing their remaining words from the
+   * highest bound down, and offers the first one whose words could all be placed
+   *
+   * @param placeWord the engine, on a board without words
+   * @param bounds upper bounds of the words
+   * @param words every word of the solve
+   * @param best receives the finished ordering
+   * @param partials the partial orderings left when the budget ran out
+   */
+  private static void complete(
+      PlaceWord placeWord,
+      ScoreBounds bounds,
+      String[] words,
+      BestOrdering best,
+      List<Partial> partials) {
+    List<Partial> candidates = new ArrayList<>(partials);
+    candidates.sort(BY_BASE);
+
+    for (Partial partial : candidates) {
+      String[] rest = remaining(words, partial);
+      Arrays.sort(rest, Comparator.comparingLong(bounds::of).reversed());
+      String[] order = Arrays.copyOf(partial.order, words.length);
+      System.arraycopy(rest, 0, order, partial.order.length, rest.length);
+
+      int score = 0;
+      int placed = 0;
+      while (placed < order.length) {
+        int wordScore = placeWord.place(order[placed]);
+        if (wordScore == UNSOLVED) {
+          break;
+        }
+        score += wordScore;
+        placed++;
+      }
+      if (placed == order.length) {
+        best.offer(score + placeWord.augmentedScore(), 0, order);
+        return;
+      }
+
+      /* Every call to place, the failed one too, left a frame to take back */
+      for (int k = 0; k <= placed; k++) {
+        placeWord.undo();
+      }
+    }
+  }
+
+  /**
+   * @param words every word of the solve
+   * @param partial a partial ordering
+   * @return the words the partial ordering has not placed, in the order of the given words
+   */
+  private static String[] remaining(String[] words, Partial partial) {
+    Set<String> placed = new HashSet<>(Arrays.asList(partial.order));
+    List<String> rest = new ArrayList<>();
+    for (String word : words) {
+      if (!placed.contains(word)) {
+        rest.add(word);
+      }
+    }
+    return rest.toArray(new String[0]);
+  }
+
+  private static String[] append(String[] order, String word) {
+    String[] extended = Arrays.copyOf(order, order.length + 1);
+    extended[order.length] = word;
+    return extended;
+  }
+
+  /** A partial ordering kept in the beam */
+  private static final class Partial {
+    private final String[] order;
+    private final int score; /* Score of the placed words, without augmented words */
+    private final int base; /* Score of the placed words, with their augmented words */
+
+    private Partial(String[] order, int score, int base) {
+      this.order = order;
+      this.score = score;
+      this.base = base;
+    }
+  }
+}
@@ -0,0 +1,61 @@
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free holder for the best ordering found by the solve workers. Orderings are compared by
+ * score first and then by their rank in the sequential permutation order, so that ties are
+ * resolved the same way as the sequential solver resolves them (the last one wins).
+ */
+public class BestOrdering {
+
+  private final AtomicReference<Candidate> best = new AtomicReference<>();
+
+  /**
+   * Offers an ordering to the holder
+   *
+   * @param score score of the ordering
+   * @param rank position of the ordering in the sequential permutation order
+   * @param order the ordering, copied only when it improves on the current best
+   */
+  public void offer(int score, long rank, String[] order) {
+    Candidate current = best.get();
+    while (current == null
+        || score > current.score
+        || (score == current.score && rank > current.rank)) {
+      Candidate candidate = new Candidate(score, rank, order.clone());
+      if (best.compareAndSet(current, candidate)) {
+        return;
+      }
+      current = best.get();
+    }
+  }
+
+  /**
+   * @return the best score so far, or -1 when nothing has been offered yet
+   */
+  public int score() {
+    Candidate current = best.get();
+    return current == null ? WordPlacement.Unsolved : current.score;
+  }
+
+  /**
+   * @return the best ordering so far, or an empty list when nothing has been offered yet
+   */
+  public List<String> order() {
+    Candidate current = best.get();
+    return current == null ? List.of() : Arrays.asList(current.order.clone());
+  }
+
+  private static final class Candidate {
+    private final int score;
+    private final long rank;
+    private final String[] order;
+
+    private Candidate(int score, long rank, String[] order) {
+      this.score = score;
+      this.rank = rank;
+      this.order = order;
+    }
+  }
+}
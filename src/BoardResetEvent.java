@@ -0,0 +1,17 @@
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Flight Recorder event of one reset of a board to its puzzle */
+@Name("wordplacement.BoardReset")
+@Label("Board Reset")
+@Category("Word Placement")
+@StackTrace(false)
+class BoardResetEvent extends jdk.jfr.Event {
+  @Label("Rows")
+  int rows;
+
+  @Label("Columns")
+  int columns;
+}
@@ -0,0 +1,300 @@
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * The board, its letter multipliers and its word multipliers packed one int per cell: the cell
+ * character in the low 16 bits, the letter multiplier in the next 8 bits and the word multiplier in
+ * the high 8 bits. Scoring and validation read a single int per cell.
+ *
+ * <p>The cells are stored in square tiles of up to 64 by 64 cells, a board that fits in one tile
+ * having a single tile of its own size. Tiles are shared between boards and copied on the first
+ * write, so a fresh board shares one backing tile for all of its cells, copying or resetting a
+ * board copies only the tile references and the tiles it wrote, and the memory of a large board
+ * tracks the tiles holding letters or special cells rather than its area.
+ *
+ * <p>The board also keeps a Zobrist hash of its cells, updated with every write, so that equal
+ * boards can be recognised without comparing them cell by cell.
+ */
+public class BoardState {
+  private static final int LETTER_MASK = 0xFFFF;
+  private static final int LETTER_MULTIPLIER_SHIFT = 16;
+  private static final int WORD_MULTIPLIER_SHIFT = 24;
+  private static final int MAX_TILE_SHIFT = 6; /* Tiles of at most 64 by 64 cells */
+
+  private final int rows;
+  private final int columns;
+  private final int tileShift; /* log2 of the side of a tile */
+  private final int tileMask;
+  private final int tileColumns; /* Tiles per row of tiles */
+  private final int tileStride; /* Cells per row of a tile, the width of a board narrower than one */
+  private final int[][] tiles; /* Row-major tiles, each of them row-major */
+  private final boolean[] owned; /* Tiles this board may write without copying them */
+  private long hash; /* XOR of the Zobrist keys of the non-zero cells */
+
+  /**
+   * Creates an empty board, every cell holding character 0 with multipliers of 0
+   *
+   * @param rows number of rows
+   * @param columns number of columns
+   */
+  public BoardState(int rows, int columns) {
+    this(rows, columns, (char) 0, 0, 0);
+  }
+
+  /**
+   * Creates a board every cell of which holds the same character and multipliers, the cells
+   * sharing one tile until they are written
+   *
+   * @param rows number of rows
+   * @param columns number of columns
+   * @param letter the character of every cell
+   * @param letterMultiplier the letter multiplier of every cell, at most 255
+   * @param wordMultiplier the word multiplier of every cell, at most 255
+   */
+  public BoardState(int rows, int columns, char letter, int letterMultiplier, int wordMultiplier) {
+    if (rows < 0 || columns < 0) {
+      throw new IllegalArgumentException("Negative board size: " + rows + "x" + columns);
+    }
+    this.rows = rows;
+    this.columns = columns;
+    int side = Math.max(rows, columns);
+    int sideShift = side <= 1 ? 0 : Integer.SIZE - Integer.numberOfLeadingZeros(side - 1);
+    this.tileShift = Math.min(MAX_TILE_SHIFT, sideShift);
+    this.tileMask = (1 << tileShift) - 1;
+    this.tileColumns = (columns + tileMask) >> tileShift;
+    this.tileStride = Math.min(columns, 1 << tileShift);
+    this.tiles = new int[((rows + tileMask) >> tileShift) * tileColumns][];
+    this.owned = new boolean[tiles.length];
+
+    int value = pack(letter, letterMultiplier, wordMultiplier);
+    /* Tiles of a board smaller than one tile are cut to its size */
+    int[] shared = new int[Math.min(rows, 1 << tileShift) * tileStride];
+    Arrays.fill(shared, value);
+    Arrays.fill(tiles, shared);
+    if (value != 0) {
+      for (int cell = 0; cell < rows * columns; cell++) {
+        hash ^= zobristKey(cell, value);
+      }
+    }
+  }
+
+  /* Copy sharing the tiles of another board */
+  private BoardState(BoardState other) {
+    this.rows = other.rows;
+    this.columns = other.columns;
+    this.tileShift = other.tileShift;
+    this.tileMask = other.tileMask;
+    this.tileColumns = other.tileColumns;
+    this.tileStride = other.tileStride;
+    this.tiles = new int[other.tiles.length][];
+    this.owned = new boolean[tiles.length];
+    copyFrom(other);
+  }
+
+  public int rows() {
+    return rows;
+  }
+
+  public int columns() {
+    return columns;
+  }
+
+  /**
+   * @param row the row
+   * @param column the column
+   * @return the character in the cell, either a placed letter or the puzzle character
+   */
+  public char letter(int row, int column) {
+    return letterOf(packed(row, column));
+  }
+
+  /**
+   * @param row the row
+   * @param column the column
+   * @return the letter multiplier of the cell, kept after a letter is placed on it
+   */
+  public int letterMultiplier(int row, int column) {
+    return letterMultiplierOf(packed(row, column));
+  }
+
+  /**
+   * @param row the row
+   * @param column the column
+   * @return the word multiplier of the cell, kept after a letter is placed on it
+   */
+  public int wordMultiplier(int row, int column) {
+    return wordMultiplierOf(packed(row, column));
+  }
+
+  /**
+   * Reads every field of a cell at once, to be decoded with {@link #letterOf}, {@link
+   * #letterMultiplierOf} and {@link #wordMultiplierOf}
+   *
+   * @param row the row
+   * @param column the column
+   * @return the packed cell
+   */
+  public int packed(int row, int column) {
+    return tiles[tileOf(row, column)][offsetOf(row, column)];
+  }
+
+  /**
+   * @param packed a packed cell
+   * @return the character of the cell
+   */
+  public static char letterOf(int packed) {
+    return (char) (packed & LETTER_MASK);
+  }
+
+  /**
+   * @param packed a packed cell
+   * @return the letter multiplier of the cell
+   */
+  public static int letterMultiplierOf(int packed) {
+    return (packed >>> LETTER_MULTIPLIER_SHIFT) & 0xFF;
+  }
+
+  /**
+   * @param packed a packed cell
+   * @return the word multiplier of the cell
+   */
+  public static int wordMultiplierOf(int packed) {
+    return packed >>> WORD_MULTIPLIER_SHIFT;
+  }
+
+  /**
+   * Places a character in a cell, keeping the multipliers of the cell
+   *
+   * @param row the row
+   * @param column the column
+   * @param letter the character
+   */
+  public void setLetter(int row, int column, char letter) {
+    write(row, column, (packed(row, column) & ~LETTER_MASK) | letter);
+  }
+
+  /**
+   * Sets every field of a cell
+   *
+   * @param row the row
+   * @param column the column
+   * @param letter the character
+   * @param letterMultiplier the letter multiplier, at most 255
+   * @param wordMultiplier the word multiplier, at most 255
+   */
+  public void setCell(int row, int column, char letter, int letterMultiplier, int wordMultiplier) {
+    write(row, column, pack(letter, letterMultiplier, wordMultiplier));
+  }
+
+  /**
+   * @return a copy of this board, sharing the tiles of this board that it does not write to
+   */
+  public BoardState copy() {
+    return new BoardState(this);
+  }
+
+  /**
+   * Resets this board to the state of another board of the same size. The tiles the other board
+   * may still write are copied, the others are shared.
+   *
+   * @param other the board to copy
+   */
+  public void copyFrom(BoardState other) {
+    if (other.rows != rows || other.columns != columns) {
+      throw new IllegalArgumentException("Boards differ in size");
+    }
+    for (int tile = 0; tile < tiles.length; tile++) {
+      tiles[tile] = other.owned[tile] ? other.tiles[tile].clone() : other.tiles[tile];
+      owned[tile] = other.owned[tile];
+    }
+    hash = other.hash;
+  }
+
+  /**
+   * Makes every tile of this board shared, so that boards copying it share all of its tiles. The
+   * next write of this board to a tile copies the tile first.
+   */
+  void shareTiles() {
+    Arrays.fill(owned, false);
+  }
+
+  /**
+   * Zobrist hash of the board: boards of the same size holding the same characters and multipliers
+   * have the same hash, whatever order their cells were written in
+   *
+   * @return the hash
+   */
+  public long zobristHash() {
+    return hash;
+  }
+
+  /**
+   * Writes a cell, copying its tile first if it is shared and updating the hash. Writing the value
+   * a cell already holds neither copies nor changes anything.
+   *
+   * @param row the row
+   * @param column the column
+   * @param value the packed cell
+   */
+  private void write(int row, int column, int value) {
+    int tile = tileOf(row, column);
+    int offset = offsetOf(row, column);
+    int previous = tiles[tile][offset];
+    if (previous == value) {
+      return;
+    }
+    if (!owned[tile]) {
+      tiles[tile] = tiles[tile].clone();
+      owned[tile] = true;
+    }
+    int cell = row * columns + column;
+    hash ^= zobristKey(cell, previous) ^ zobristKey(cell, value);
+    tiles[tile][offset] = value;
+  }
+
+  private static int pack(char letter, int letterMultiplier, int wordMultiplier) {
+    return letter
+        | letterMultiplier << LETTER_MULTIPLIER_SHIFT
+        | wordMultiplier << WORD_MULTIPLIER_SHIFT;
+  }
+
+  /**
+   * Key of a cell value at a position, derived on the fly instead of read from a random table. The
+   * mix is a bijection, so distinct cells get distinct keys; a cell never written has key 0.
+   *
+   * @param cell position of the cell in row-major order
+   * @param value the packed cell
+   * @return the key
+   */
+  private static long zobristKey(int cell, int value) {
+    if (value == 0) {
+      return 0;
+    }
+    /* SplitMix64 finalizer */
+    long z = ((long) cell << 32 | (value & 0xFFFFFFFFL)) + 0x9E3779B97F4A7C15L;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+
+  /**
+   * @param row the row
+   * @param column the column
+   * @return position of the tile holding the cell
+   */
+  private int tileOf(int row, int column) {
+    /* Without these checks a cell past the edge would silently land in the padding of a tile */
+    Objects.checkIndex(row, rows);
+    Objects.checkIndex(column, columns);
+    return (row >> tileShift) * tileColumns + (column >> tileShift);
+  }
+
+  /**
+   * @param row the row
+   * @param column the column
+   * @return position of the cell in its tile
+   */
+  private int offsetOf(int row, int column) {
+    return (row & tileMask) * tileStride + (column & tileMask);
+  }
+}
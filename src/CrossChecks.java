@@ -0,0 +1,193 @@
+/**
+ * Cross-check masks of the empty cells of a board. For an empty cell the across mask holds the
+ * letters that keep the vertical run through the cell a dictionary word, and is checked when a
+ * word is placed horizontally over the cell; the down mask does the same for the horizontal run
+ * and vertical placements. Bit {@code i} stands for the letter {@code 'a' + i}.
+ *
+ * <p>Only cells next to tiles have a restricted mask, so masks are kept in a sparse map and
+ * updated only around the cells that change.
+ */
+public class CrossChecks {
+  public static final int ALL_LETTERS = (1 << 26) - 1;
+
+  private final BoardState board;
+  private final WordDictionary dictionary;
+  private final int columns;
+  private final IntIntMap acrossMasks = new IntIntMap();
+  private final IntIntMap downMasks = new IntIntMap();
+
+  /**
+   * Computes the masks of the given board
+   *
+   * @param board the live board, read again on every update
+   * @param dictionary the dictionary
+   */
+  public CrossChecks(BoardState board, WordDictionary dictionary) {
+    this.board = board;
+    this.dictionary = dictionary;
+    this.columns = board.columns();
+
+    for (int i = 0; i < board.rows(); i++) {
+      for (int j = 0; j < columns; j++) {
+        if (isTile(board.letter(i, j))) {
+          cellChanged(i, j);
+        }
+      }
+    }
+  }
+
+  /**
+   * Checks the letters a word would put on empty cells against the masks of those cells. A word
+   * that fails this check forms an invalid perpendicular word; a word that passes may still form
+   * an invalid word along its own line.
+   *
+   * @param word the word to be placed
+   * @param row row of the first letter
+   * @param column column of the first letter
+   * @param isHorizontal true for horizontal placement
+   * @return false if one of the letters is not allowed where it would be placed
+   */
+  public boolean allows(String word, int row, int column, boolean isHorizontal) {
+    IntIntMap masks = isHorizontal ? acrossMasks : downMasks;
+
+    for (int k = 0; k < word.length(); k++) {
+      int i = isHorizontal ? row : row + k;
+      int j = isHorizontal ? column + k : column;
+      char letter = word.charAt(k);
+
+      if (isTile(letter) && !isTile(board.letter(i, j))) {
+        int mask = masks.get(i * columns + j, ALL_LETTERS);
+        if ((mask & (1 << (letter - 'a'))) == 0) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Updates the masks affected by a change of the given cell: the cell itself and the first empty
+   * cell past the runs of tiles through it, in all four directions
+   *
+   * @param row the row
+   * @param column the column
+   */
+  public void cellChanged(int row, int column) {
+    updateCell(row, column);
+
+    int i = row - 1;
+    while (i >= 0 && isTile(board.letter(i, column))) {
+      i--;
+    }
+    updateCell(i, column);
+
+    i = row + 1;
+    while (i < board.rows() && isTile(board.letter(i, column))) {
+      i++;
+    }
+    updateCell(i, column);
+
+    int j = column - 1;
+    while (j >= 0 && isTile(board.letter(row, j))) {
+      j--;
+    }
+    updateCell(row, j);
+
+    j = column + 1;
+    while (j < columns && isTile(board.letter(row, j))) {
+      j++;
+    }
+    updateCell(row, j);
+  }
+
+  /**
+   * Recomputes both masks of a cell, dropping them when the cell is occupied or unrestricted
+   *
+   * @param row the row, may be outside the board
+   * @param column the column, may be outside the board
+   */
+  private void updateCell(int row, int column) {
+    if (row < 0 || row >= board.rows() || column < 0 || column >= columns) {
+      return;
+    }
+    int cell = row * columns + column;
+
+    if (isTile(board.letter(row, column))) {
+      acrossMasks.remove(cell);
+      downMasks.remove(cell);
+      return;
+    }
+
+    /* Across placements are constrained by the vertical run through the cell */
+    int top = row;
+    while (top > 0 && isTile(board.letter(top - 1, column))) {
+      top--;
+    }
+    int bottom = row;
+    while (bottom < board.rows() - 1 && isTile(board.letter(bottom + 1, column))) {
+      bottom++;
+    }
+    if (top == bottom) {
+      acrossMasks.remove(cell);
+    } else {
+      int node = dictionary.root();
+      for (int i = top; i < row && node != WordDictionary.NONE; i++) {
+        node = dictionary.child(node, board.letter(i, column));
+      }
+      int mask = 0;
+      if (node != WordDictionary.NONE) {
+        for (int edge = 0; edge < dictionary.edgeCount(node); edge++) {
+          char letter = dictionary.edgeLetter(node, edge);
+          int next = dictionary.edgeTarget(node, edge);
+          for (int i = row + 1; i <= bottom && next != WordDictionary.NONE; i++) {
+            next = dictionary.child(next, board.letter(i, column));
+          }
+          if (isTile(letter) && dictionary.isWord(next)) {
+            mask |= 1 << (letter - 'a');
+          }
+        }
+      }
+      acrossMasks.put(cell, mask);
+    }
+
+    /* Down placements are constrained by the horizontal run through the cell */
+    int start = column;
+    while (start > 0 && isTile(board.letter(row, start - 1))) {
+      start--;
+    }
+    int end = column;
+    while (end < columns - 1 && isTile(board.letter(row, end + 1))) {
+      end++;
+    }
+    if (start == end) {
+      downMasks.remove(cell);
+    } else {
+      int node = dictionary.root();
+      for (int j = start; j < column && node != WordDictionary.NONE; j++) {
+        node = dictionary.child(node, board.letter(row, j));
+      }
+      int mask = 0;
+      if (node != WordDictionary.NONE) {
+        for (int edge = 0; edge < dictionary.edgeCount(node); edge++) {
+          char letter = dictionary.edgeLetter(node, edge);
+          int next = dictionary.edgeTarget(node, edge);
+          for (int j = column + 1; j <= end && next != WordDictionary.NONE; j++) {
+            next = dictionary.child(next, board.letter(row, j));
+          }
+          if (isTile(letter) && dictionary.isWord(next)) {
+            mask |= 1 << (letter - 'a');
+          }
+        }
+      }
+      downMasks.put(cell, mask);
+    }
+  }
+
+  /**
+   * @param character the character
+   * @return true if the character is a letter placed on the board
+   */
+  private static boolean isTile(char character) {
+    return character >= 'a' && character <= 'z';
+  }
+}
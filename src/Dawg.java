@@ -0,0 +1,118 @@
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Compiled, immutable directed acyclic word graph. Words sharing a prefix share the path of that
+ * prefix and words sharing a suffix share the nodes of that suffix, so large dictionaries take a
+ * fraction of the memory of a {@code HashSet<String>}. The graph is stored in flat arrays: node
+ * {@code n} owns the edges {@code [firstEdge(n), firstEdge(n + 1))}, sorted by letter.
+ */
+public class Dawg implements WordDictionary {
+  /* Edge lists up to this size are scanned linearly, longer ones are binary searched */
+  private static final int LINEAR_SCAN_LIMIT = 8;
+
+  private final int[] nodes; /* firstEdge << 1 | terminal bit, with one extra sentinel node */
+  private final char[] edgeLetters;
+  private final int[] edgeTargets;
+  private final int wordCount;
+
+  Dawg(int[] nodes, char[] edgeLetters, int[] edgeTargets, int wordCount) {
+    this.nodes = nodes;
+    this.edgeLetters = edgeLetters;
+    this.edgeTargets = edgeTargets;
+    this.wordCount = wordCount;
+  }
+
+  /**
+   * Compiles the given words into a graph
+   *
+   * @param words the words, in any order
+   * @return the compiled graph
+   */
+  public static Dawg compile(Collection<String> words) {
+    String[] sorted = words.toArray(new String[0]);
+    Arrays.sort(sorted);
+
+    DawgBuilder builder = new DawgBuilder();
+    for (String word : sorted) {
+      builder.add(word);
+    }
+    return builder.build();
+  }
+
+  @Override
+  public int root() {
+    return 0;
+  }
+
+  @Override
+  public int child(int node, char letter) {
+    if (node == NONE) {
+      return NONE;
+    }
+    int low = nodes[node] >>> 1;
+    int high = (nodes[node + 1] >>> 1) - 1;
+
+    if (high - low < LINEAR_SCAN_LIMIT) {
+      for (int edge = low; edge <= high; edge++) {
+        if (edgeLetters[edge] == letter) {
+          return edgeTargets[edge];
+        }
+      }
+      return NONE;
+    }
+
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      char middleLetter = edgeLetters[middle];
+      if (middleLetter < letter) {
+        low = middle + 1;
+      } else if (middleLetter > letter) {
+        high = middle - 1;
+      } else {
+        return edgeTargets[middle];
+      }
+    }
+    return NONE;
+  }
+
+  @Override
+  public boolean isWord(int node) {
+    return node != NONE && (nodes[node] & 1) != 0;
+  }
+
+  @Override
+  public int edgeCount(int node) {
+    return (nodes[node + 1] >>> 1) - (nodes[node] >>> 1);
+  }
+
+  @Override
+  public char edgeLetter(int node, int edge) {
+    return edgeLetters[(nodes[node] >>> 1) + edge];
+  }
+
+  @Override
+  public int edgeTarget(int node, int edge) {
+    return edgeTargets[(nodes[node] >>> 1) + edge];
+  }
+
+  @Override
+  public int size() {
+    return wordCount;
+  }
+
+  /**
+   * @return number of nodes in the graph
+   */
+  @Override
+  public int nodeCount() {
+    return nodes.length - 1;
+  }
+
+  /**
+   * @return number of edges in the graph
+   */
+  public int edgeCount() {
+    return edgeLetters.length;
+  }
+}
@@ -0,0 +1,169 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds a minimal {@link Dawg} from words added in ascending order (incremental construction of
+ * Daciuk et al.). Only the path of the last word is kept unminimized, so memory stays close to the
+ * size of the finished graph. Duplicates are ignored.
+ */
+public class DawgBuilder {
+  private final Node root = new Node();
+  private final Map<Node, Node> register = new HashMap<>();
+  private final List<Node> uncheckedParents = new ArrayList<>();
+  private final List<Node> uncheckedChildren = new ArrayList<>();
+  private String previousWord = "";
+  private int wordCount;
+
+  /**
+   * Adds a word to the graph
+   *
+   * @param word the word, not smaller than the previously added word
+   * @throws IllegalArgumentException when the words are not added in ascending order
+   */
+  public void add(String word) {
+    int order = word.compareTo(previousWord);
+    if (order < 0) {
+      throw new IllegalArgumentException("Words must be added in ascending order: " + word);
+    }
+    if (order == 0 && wordCount > 0) {
+      return;
+    }
+
+    int commonPrefix = 0;
+    int limit = Math.min(word.length(), previousWord.length());
+    while (commonPrefix < limit && word.charAt(commonPrefix) == previousWord.charAt(commonPrefix)) {
+      commonPrefix++;
+    }
+
+    /* The part of the previous word after the common prefix can no longer change */
+    minimize(commonPrefix);
+
+    Node node = uncheckedChildren.isEmpty() ? root : uncheckedChildren.get(commonPrefix - 1);
+    for (int i = commonPrefix; i < word.length(); i++) {
+      Node next = new Node();
+      node.addEdge(word.charAt(i), next);
+      uncheckedParents.add(node);
+      uncheckedChildren.add(next);
+      node = next;
+    }
+    node.terminal = true;
+
+    previousWord = word;
+    wordCount++;
+  }
+
+  /**
+   * Minimizes the remaining nodes and flattens the graph
+   *
+   * @return the compiled graph
+   */
+  public Dawg build() {
+    minimize(0);
+
+    /* Number the nodes breadth first, the root being node 0 */
+    Map<Node, Integer> ids = new IdentityHashMap<>();
+    List<Node> order = new ArrayList<>();
+    ArrayDeque<Node> queue = new ArrayDeque<>();
+    ids.put(root, 0);
+    order.add(root);
+    queue.add(root);
+    int edges = 0;
+    while (!queue.isEmpty()) {
+      Node node = queue.poll();
+      edges += node.size;
+      for (int i = 0; i < node.size; i++) {
+        Node child = node.children[i];
+        if (!ids.containsKey(child)) {
+          ids.put(child, order.size());
+          order.add(child);
+          queue.add(child);
+        }
+      }
+    }
+
+    int[] nodes = new int[order.size() + 1];
+    char[] edgeLetters = new char[edges];
+    int[] edgeTargets = new int[edges];
+    int edge = 0;
+    for (int n = 0; n < order.size(); n++) {
+      Node node = order.get(n);
+      nodes[n] = edge << 1 | (node.terminal ? 1 : 0);
+      for (int i = 0; i < node.size; i++) {
+        edgeLetters[edge] = node.letters[i];
+        edgeTargets[edge] = ids.get(node.children[i]);
+        edge++;
+      }
+    }
+    nodes[order.size()] = edge << 1;
+
+    return new Dawg(nodes, edgeLetters, edgeTargets, wordCount);
+  }
+
+  /**
+   * Replaces the unchecked nodes deeper than the given depth by their registered equivalent, or
+   * registers them when there is none
+   *
+   * @param depth number of unchecked nodes to keep
+   */
+  private void minimize(int depth) {
+    for (int i = uncheckedChildren.size() - 1; i >= depth; i--) {
+      Node parent = uncheckedParents.remove(i);
+      Node child = uncheckedChildren.remove(i);
+      Node registered = register.putIfAbsent(child, child);
+      if (registered != null) {
+        parent.children[parent.size - 1] = registered;
+      }
+    }
+  }
+
+  /* Mutable node, equal to another node when it has the same terminal flag and the same edges */
+  private static final class Node {
+    private char[] letters = new char[2];
+    private Node[] children = new Node[2];
+    private int size;
+    private boolean terminal;
+
+    private void addEdge(char letter, Node child) {
+      if (size == letters.length) {
+        letters = Arrays.copyOf(letters, size * 2);
+        children = Arrays.copyOf(children, size * 2);
+      }
+      letters[size] = letter;
+      children[size] = child;
+      size++;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (!(other instanceof Node)) {
+        return false;
+      }
+      Node node = (Node) other;
+      if (terminal != node.terminal || size != node.size) {
+        return false;
+      }
+      for (int i = 0; i < size; i++) {
+        /* Children are already minimized, so identity is equivalence */
+        if (letters[i] != node.letters[i] || children[i] != node.children[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      int hash = terminal ? 1 : 0;
+      for (int i = 0; i < size; i++) {
+        hash = 31 * hash + letters[i];
+        hash = 31 * hash + System.identityHashCode(children[i]);
+      }
+      return hash;
+    }
+  }
+}
@@ -0,0 +1,51 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Compiles a word list, one word per line, into a dictionary image that {@link
+ * WordPlacement#dictionaryImage(Path)} maps instead of parsing the list again.
+ *
+ * <p>Usage: {@code java DictionaryCompiler <word list> <image>}
+ */
+public class DictionaryCompiler {
+
+  public static void main(String[] args) {
+    if (args.length != 2) {
+      System.out.println("Usage: java DictionaryCompiler <word list> <image>");
+      System.exit(1);
+    }
+
+    try {
+      Dawg dawg = compile(Paths.get(args[0]));
+      if (dawg == null) {
+        System.out.println("Invalid dictionary: " + args[0]);
+        System.exit(1);
+      }
+      MappedDawg.write(dawg, Paths.get(args[1]));
+      System.out.println(
+          "Compiled " + dawg.size() + " words into " + dawg.nodeCount() + " nodes: " + args[1]);
+    } catch (IOException ioException) {
+      System.out.println(ioException.getMessage());
+      System.exit(1);
+    }
+  }
+
+  /**
+   * Reads and compiles a word list
+   *
+   * @param wordList path of the word list
+   * @return the compiled graph, or null if the file is not a valid dictionary
+   * @throws IOException when there is an issue reading the file
+   */
+  public static Dawg compile(Path wordList) throws IOException {
+    try (BufferedReader reader = Files.newBufferedReader(wordList, StandardCharsets.UTF_8)) {
+      return new DictionaryLoader(ForkJoinPool.commonPool(), DictionaryLoader.DEFAULT_CHUNK_SIZE)
+          .load(reader);
+    }
+  }
+}
@@ -0,0 +1,299 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Reads a dictionary stream, one word per line, validating and compiling it in a single pass. Lines
+ * are trimmed, a line holding a space is rejected and blank lines are only allowed at the end of
+ * the stream. Words that arrive in ascending order go straight into the graph; the loader only
+ * buffers the words of a stream once they stop being sorted.
+ *
+ * <p>With a pool, the stream is cut into chunks that are validated, sorted and compiled in parallel
+ * and then merged into the graph, which suits large unsorted word lists. Only a few chunks per
+ * worker are read ahead, so memory holds the lines of those chunks and the compiled ones, never the
+ * whole stream.
+ */
+public class DictionaryLoader {
+  public static final int DEFAULT_CHUNK_SIZE = 1 << 16;
+
+  private final ForkJoinPool pool; /* null when loading on the calling thread */
+  private final int chunkSize;
+
+  /** Creates a loader that reads and compiles on the calling thread */
+  public DictionaryLoader() {
+    this.pool = null;
+    this.chunkSize = DEFAULT_CHUNK_SIZE;
+  }
+
+  /**
+   * Creates a loader that validates and sorts chunks of the stream in parallel
+   *
+   * @param pool the pool running the chunks
+   * @param chunkSize number of lines per chunk
+   */
+  public DictionaryLoader(ForkJoinPool pool, int chunkSize) {
+    if (chunkSize <= 0) {
+      throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+    }
+    this.pool = pool;
+    this.chunkSize = chunkSize;
+  }
+
+  /**
+   * Reads the whole stream, leaving it open
+   *
+   * @param wordStream stream of dictionary words
+   * @return the compiled dictionary, or null if the stream is not a valid dictionary
+   * @throws IOException when there is an issue reading the stream
+   */
+  public Dawg load(BufferedReader wordStream) throws IOException {
+    return pool == null ? loadSequential(wordStream) : loadParallel(wordStream);
+  }
+
+  private Dawg loadSequential(BufferedReader wordStream) throws IOException {
+    DawgBuilder builder = new DawgBuilder();
+    List<String> unsorted = null; /* Words read after the first one out of order */
+    String previous = null;
+    boolean blankSeen = false;
+    String line;
+
+    while ((line = wordStream.readLine()) != null) {
+      line = line.trim();
+      if (line.isEmpty()) {
+        blankSeen = true;
+        continue;
+      }
+
+      /* A blank line followed by a word, or more than one word in a line */
+      if (blankSeen || line.contains(" ")) {
+        return null;
+      }
+
+      if (unsorted == null && (previous == null || line.compareTo(previous) >= 0)) {
+        builder.add(line);
+        previous = line;
+      } else {
+        if (unsorted == null) {
+          unsorted = new ArrayList<>();
+        }
+        unsorted.add(line);
+      }
+    }
+
+    if (previous == null) {
+      return null;
+    }
+
+    Dawg sortedWords = builder.build();
+    if (unsorted == null) {
+      return sortedWords;
+    }
+
+    unsorted.sort(null);
+    return merge(List.of(new DictionaryWords(sortedWords), unsorted.iterator()));
+  }
+
+  private Dawg loadParallel(BufferedReader wordStream) throws IOException {
+    /* Chunks read ahead of the oldest running one, so that the stream is never all in memory */
+    int window = 2 * pool.getParallelism();
+    ArrayDeque<ForkJoinTask<Chunk>> running = new ArrayDeque<>();
+    List<Iterator<String>> compiledChunks = new ArrayList<>();
+    long firstBlank = Long.MAX_VALUE;
+    long lastWord = -1;
+    long firstLine = 0;
+    boolean isEndOfStream = false;
+
+    while (!isEndOfStream || !running.isEmpty()) {
+      if (!isEndOfStream && running.size() < window) {
+        String[] lines = new String[chunkSize];
+        int count = 0;
+        String line = null;
+        while (count < chunkSize && (line = wordStream.readLine()) != null) {
+          lines[count++] = line;
+        }
+        if (count > 0) {
+          running.add(pool.submit(new Chunk(lines, count, firstLine)));
+          firstLine += count;
+        }
+        isEndOfStream = line == null;
+        continue;
+      }
+
+      Chunk chunk = running.poll().join();
+      if (chunk.hasInvalidLine) {
+        running.forEach(task -> task.cancel(false));
+        return null;
+      }
+      firstBlank = Math.min(firstBlank, chunk.firstBlank);
+      lastWord = Math.max(lastWord, chunk.lastWord);
+      if (chunk.dictionary != null) {
+        compiledChunks.add(new DictionaryWords(chunk.dictionary));
+      }
+    }
+
+    /* No words, or a blank line followed by a word */
+    if (lastWord < 0 || firstBlank < lastWord) {
+      return null;
+    }
+    return merge(compiledChunks);
+  }
+
+  /**
+   * Compiles the union of several sorted word sequences
+   *
+   * @param sources the sequences, each in ascending order
+   * @return the compiled dictionary
+   */
+  private static Dawg merge(List<Iterator<String>> sources) {
+    PriorityQueue<Source> queue = new PriorityQueue<>();
+    for (Iterator<String> words : sources) {
+      if (words.hasNext()) {
+        queue.add(new Source(words));
+      }
+    }
+
+    DawgBuilder builder = new DawgBuilder();
+    while (!queue.isEmpty()) {
+      Source source = queue.poll();
+      builder.add(source.current);
+      if (source.words.hasNext()) {
+        source.current = source.words.next();
+        queue.add(source);
+      }
+    }
+    return builder.build();
+  }
+
+  /** Lines of the stream trimmed, validated, sorted and compiled by one task */
+  private static final class Chunk implements Callable<Chunk> {
+    private String[] words; /* Raw lines, replaced by the sorted words, dropped once compiled */
+    private final int lineCount;
+    private final long firstLine;
+    private Dawg dictionary; /* Words of the chunk, null when it has none */
+    private long firstBlank = Long.MAX_VALUE; /* Stream line number of the first blank line */
+    private long lastWord = -1; /* Stream line number of the last word */
+    private boolean hasInvalidLine;
+
+    Chunk(String[] lines, int lineCount, long firstLine) {
+      this.words = lines;
+      this.lineCount = lineCount;
+      this.firstLine = firstLine;
+    }
+
+    @Override
+    public Chunk call() {
+      int wordCount = 0;
+      for (int i = 0; i < lineCount; i++) {
+        String line = words[i].trim();
+        if (line.isEmpty()) {
+          firstBlank = Math.min(firstBlank, firstLine + i);
+          continue;
+        }
+
+        /* More than one word in a line */
+        if (line.contains(" ")) {
+          hasInvalidLine = true;
+          return this;
+        }
+        lastWord = firstLine + i;
+        words[wordCount++] = line;
+      }
+      Arrays.sort(words, 0, wordCount);
+
+      /* The compiled words share prefixes and suffixes, so they take less memory than the lines */
+      if (wordCount > 0) {
+        DawgBuilder builder = new DawgBuilder();
+        for (int i = 0; i < wordCount; i++) {
+          builder.add(words[i]);
+        }
+        dictionary = builder.build();
+      }
+      words = null;
+      return this;
+    }
+  }
+
+  /** Sorted word sequence ordered by its next word */
+  private static final class Source implements Comparable<Source> {
+    private final Iterator<String> words;
+    private String current;
+
+    Source(Iterator<String> words) {
+      this.words = words;
+      this.current = words.next();
+    }
+
+    @Override
+    public int compareTo(Source other) {
+      return current.compareTo(other.current);
+    }
+  }
+
+  /** Words of a dictionary in ascending order, enumerated depth first */
+  private static final class DictionaryWords implements Iterator<String> {
+    private final WordDictionary dictionary;
+    private int[] nodes = new int[16]; /* Nodes on the path from the root */
+    private int[] nextEdges = new int[16]; /* Next edge to follow from each node on the path */
+    private int depth;
+    private final StringBuilder letters = new StringBuilder();
+    private String next;
+
+    DictionaryWords(WordDictionary dictionary) {
+      this.dictionary = dictionary;
+      nodes[0] = dictionary.root();
+      next = advance();
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next != null;
+    }
+
+    @Override
+    public String next() {
+      if (next == null) {
+        throw new NoSuchElementException();
+      }
+      String word = next;
+      next = advance();
+      return word;
+    }
+
+    private String advance() {
+      while (depth >= 0) {
+        int node = nodes[depth];
+        if (nextEdges[depth] == dictionary.edgeCount(node)) {
+          depth--;
+          if (letters.length() > 0) {
+            letters.setLength(letters.length() - 1);
+          }
+          continue;
+        }
+
+        int edge = nextEdges[depth]++;
+        int target = dictionary.edgeTarget(node, edge);
+        letters.append(dictionary.edgeLetter(node, edge));
+        if (++depth == nodes.length) {
+          nodes = Arrays.copyOf(nodes, depth * 2);
+          nextEdges = Arrays.copyOf(nextEdges, depth * 2);
+        }
+        nodes[depth] = target;
+        nextEdges[depth] = 0;
+
+        if (dictionary.isWord(target)) {
+          return letters.toString();
+        }
+      }
+      return null;
+    }
+  }
+}
@@ -0,0 +1,27 @@
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Branch and bound over every ordering of a set of words, see {@link SolveStrategy#EXHAUSTIVE} and
+ * {@link SolveStrategy#exhaustive(ForkJoinPool)}
+ */
+final class ExhaustiveSearch implements SolveStrategy {
+  private final ForkJoinPool pool; /* null to search on the calling thread */
+
+  /**
+   * @param pool the pool splitting the search, or null to search on the calling thread
+   */
+  ExhaustiveSearch(ForkJoinPool pool) {
+    this.pool = pool;
+  }
+
+  @Override
+  public String name() {
+    return pool == null ? "Exhaustive" : "Exhaustive on " + pool.getParallelism() + " workers";
+  }
+
+  @Override
+  public BestOrdering search(SolverResources resources, Set<String> words, SearchBudget budget) {
+    return resources.search(words, pool, budget);
+  }
+}
@@ -0,0 +1,118 @@
+import java.util.Arrays;
+
+/**
+ * Small open-addressing map from non-negative int keys to int values, used for per-cell data that
+ * only exists for a few cells of the board. Lookups of missing keys return a caller supplied
+ * default, and nothing is boxed.
+ */
+public class IntIntMap {
+  private static final int FREE = -1;
+
+  private int[] keys;
+  private int[] values;
+  private int size;
+
+  public IntIntMap() {
+    keys = new int[16];
+    values = new int[16];
+    Arrays.fill(keys, FREE);
+  }
+
+  /**
+   * @param key the key
+   * @param defaultValue value returned when the key is missing
+   * @return the value of the key
+   */
+  public int get(int key, int defaultValue) {
+    int mask = keys.length - 1;
+    for (int slot = mix(key) & mask; ; slot = (slot + 1) & mask) {
+      int current = keys[slot];
+      if (current == key) {
+        return values[slot];
+      }
+      if (current == FREE) {
+        return defaultValue;
+      }
+    }
+  }
+
+  /**
+   * @param key the key, not negative
+   * @param value the value
+   */
+  public void put(int key, int value) {
+    int mask = keys.length - 1;
+    int slot = mix(key) & mask;
+    while (keys[slot] != FREE && keys[slot] != key) {
+      slot = (slot + 1) & mask;
+    }
+    if (keys[slot] == FREE) {
+      keys[slot] = key;
+      if (++size * 2 > keys.length) {
+        values[slot] = value;
+        grow();
+        return;
+      }
+    }
+    values[slot] = value;
+  }
+
+  /**
+   * @param key the key to remove, missing keys are ignored
+   */
+  public void remove(int key) {
+    int mask = keys.length - 1;
+    int slot = mix(key) & mask;
+    while (keys[slot] != key) {
+      if (keys[slot] == FREE) {
+        return;
+      }
+      slot = (slot + 1) & mask;
+    }
+
+    /* Shift the following entries of the probe chain back into the hole */
+    int hole = slot;
+    for (int next = (hole + 1) & mask; keys[next] != FREE; next = (next + 1) & mask) {
+      int home = mix(keys[next]) & mask;
+      if (((next - home) & mask) >= ((next - hole) & mask)) {
+        keys[hole] = keys[next];
+        values[hole] = values[next];
+        hole = next;
+      }
+    }
+    keys[hole] = FREE;
+    size--;
+  }
+
+  /**
+   * @return number of keys in the map
+   */
+  public int size() {
+    return size;
+  }
+
+  /** Removes every key, keeping the allocated capacity */
+  public void clear() {
+    Arrays.fill(keys, FREE);
+    size = 0;
+  }
+
+  private void grow() {
+    int[] oldKeys = keys;
+    int[] oldValues = values;
+    keys = new int[oldKeys.length * 2];
+    values = new int[oldKeys.length * 2];
+    Arrays.fill(keys, FREE);
+    size = 0;
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] != FREE) {
+        put(oldKeys[i], oldValues[i]);
+      }
+    }
+  }
+
+  private static int mix(int key) {
+    int hash = key * 0x9E3779B9;
+    return hash ^ (hash >>> 16);
+  }
+}
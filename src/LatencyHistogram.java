@@ -0,0 +1,108 @@
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of latencies in nanoseconds, with one bucket per power of two. Bucket {@code
+ * b} counts the latencies of {@code 2^(b-1)} to {@code 2^b - 1} nanoseconds, bucket 0 the zero
+ * latencies, so percentiles are known to within a factor of two.
+ */
+public final class LatencyHistogram {
+  private static final int BUCKETS = Long.SIZE;
+
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder totalNanos = new LongAdder();
+  private final AtomicLong maxNanos = new AtomicLong();
+
+  /**
+   * @param nanos a latency in nanoseconds, negative values counting as 0
+   */
+  public void record(long nanos) {
+    long latency = Math.max(0, nanos);
+    buckets.incrementAndGet(Long.SIZE - Long.numberOfLeadingZeros(latency));
+    count.increment();
+    totalNanos.add(latency);
+    maxNanos.accumulateAndGet(latency, Math::max);
+  }
+
+  /** Forgets every latency recorded so far */
+  public void reset() {
+    for (int bucket = 0; bucket < BUCKETS; bucket++) {
+      buckets.set(bucket, 0);
+    }
+    count.reset();
+    totalNanos.reset();
+    maxNanos.set(0);
+  }
+
+  /**
+   * @return the latencies recorded so far, not atomic with respect to concurrent recording
+   */
+  public Snapshot snapshot() {
+    long[] counts = new long[BUCKETS];
+    for (int bucket = 0; bucket < BUCKETS; bucket++) {
+      counts[bucket] = buckets.get(bucket);
+    }
+    return new Snapshot(counts, count.sum(), totalNanos.sum(), maxNanos.get());
+  }
+
+  /** Immutable copy of a histogram */
+  public static final class Snapshot {
+    private final long[] buckets;
+    private final long count;
+    private final long totalNanos;
+    private final long maxNanos;
+
+    private Snapshot(long[] buckets, long count, long totalNanos, long maxNanos) {
+      this.buckets = buckets;
+      this.count = count;
+      this.totalNanos = totalNanos;
+      this.maxNanos = maxNanos;
+    }
+
+    public long count() {
+      return count;
+    }
+
+    public long totalNanos() {
+      return totalNanos;
+    }
+
+    public long maxNanos() {
+      return maxNanos;
+    }
+
+    /**
+     * @return the mean latency in nanoseconds, 0 when nothing was recorded
+     */
+    public double meanNanos() {
+      return count == 0 ? 0 : (double) totalNanos / count;
+    }
+
+    /**
+     * @param percentile the percentile, from 0 to 100
+     * @return an upper bound on the latency at the percentile, in nanoseconds
+     */
+    public long percentileNanos(double percentile) {
+      long rank = (long) Math.ceil(count * percentile / 100);
+      long seen = 0;
+      for (int bucket = 0; bucket < buckets.length; bucket++) {
+        seen += buckets[bucket];
+        if (seen >= rank && seen > 0) {
+          /* The last bucket also holds the latencies of 2^63 - 1 nanoseconds */
+          long upper = bucket == BUCKETS - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+          return Math.min(upper, maxNanos);
+        }
+      }
+      return 0;
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+          "count=%d mean=%.0fns p50<=%dns p99<=%dns max=%dns",
+          count, meanNanos(), percentileNanos(50), percentileNanos(99), maxNanos);
+    }
+  }
+}
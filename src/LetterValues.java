@@ -0,0 +1,62 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Letter values used for scoring, held in a primitive table for the letters {@code a-z} so that
+ * the scoring loops neither box nor hash. Values of any other character are kept in a map.
+ */
+public class LetterValues {
+  private final int[] values = new int[26];
+  private final Map<Character, Integer> otherValues = new HashMap<>();
+
+  /**
+   * @param letterValueMap the value of each letter, as read from the value stream
+   */
+  public LetterValues(Map<Character, Integer> letterValueMap) {
+    for (Map.Entry<Character, Integer> entry : letterValueMap.entrySet()) {
+      char letter = entry.getKey();
+      if (letter >= 'a' && letter <= 'z') {
+        values[letter - 'a'] = entry.getValue();
+      } else {
+        otherValues.put(letter, entry.getValue());
+      }
+    }
+  }
+
+  /**
+   * Reads and validates letter value pairs, leaving the stream open
+   *
+   * @param valueStream stream of letter value pairs
+   * @return the letter values, or null if the stream is not valid
+   * @throws IOException when there is an issue reading the stream
+   */
+  public static LetterValues read(BufferedReader valueStream) throws IOException {
+    List<String> lines = new ArrayList<>();
+    String line;
+
+    while ((line = valueStream.readLine()) != null) {
+      lines.add(line.trim());
+    }
+
+    Map<Character, Integer> letterValueMap =
+        new ValidateStream().validateLetterValue(lines.toArray(new String[0]));
+    return letterValueMap == null ? null : new LetterValues(letterValueMap);
+  }
+
+  /**
+   * @param letter the letter
+   * @return the value of the letter, 0 for a letter without a value
+   */
+  public int valueOf(char letter) {
+    int index = letter - 'a';
+    if (index >= 0 && index < values.length) {
+      return values[index];
+    }
+    Integer value = otherValues.get(letter);
+    return value == null ? 0 : value;
+  }
+}
@@ -1,13 +1,23 @@
 import java.io.*;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
 public class Main {
+  private static final String BATCH_USAGE =
+      "Usage: java Main <manifest or directory> [<output>] [--workers=<n>] [--boards=<dir>]"
+          + " [--cache=<placements>]";
 
   public static void main(String[] args) {
 
+    /* BATCH MODE */
+    if (args.length > 0) {
+      System.exit(runBatch(args));
+    }
+
     WordPlacement wordPlacement = new WordPlacement();
 
     /* LOAD BOARD */
@@ -71,4 +81,76 @@ public class Main {
     /* WORD ORDER */
     System.out.println(wordPlacement.wordOrder());
   }
+
+  /**
+   * Runs the jobs of a batch manifest, see {@link BatchRunner} and {@link BatchJob}
+   *
+   * <p>Usage: {@code java Main <manifest or directory> [<output>] [--workers=<n>]
+   * [--boards=<directory>] [--cache=<placements>]}
+   *
+   * @param args the command line
+   * @return the exit status, 0 when every job succeeded
+   */
+  private static int runBatch(String[] args) {
+    List<String> paths = new ArrayList<>();
+    int workers = Runtime.getRuntime().availableProcessors();
+    Path boardDirectory = null;
+    PlacementCache placementCache = null;
+    BatchRunner batchRunner;
+    try {
+      for (String arg : args) {
+        if (arg.startsWith("--workers=")) {
+          workers = intOption(arg, "--workers=");
+        } else if (arg.startsWith("--boards=")) {
+          boardDirectory = Paths.get(arg.substring("--boards=".length()));
+        } else if (arg.startsWith("--cache=")) {
+          placementCache = new PlacementCache(intOption(arg, "--cache="));
+        } else {
+          paths.add(arg);
+        }
+      }
+      batchRunner = new BatchRunner(workers, boardDirectory, placementCache);
+    } catch (IllegalArgumentException exceptionMessage) {
+      System.out.println(exceptionMessage.getMessage());
+      System.out.println(BATCH_USAGE);
+      return 2;
+    }
+    if (paths.isEmpty() || paths.size() > 2) {
+      System.out.println(BATCH_USAGE);
+      return 2;
+    }
+
+    /* Only the output file is closed, the standard output is left open for the caller */
+    try (Writer file = paths.size() == 2 ? new FileWriter(paths.get(1)) : null) {
+      PrintWriter output =
+          new PrintWriter(file != null ? file : new OutputStreamWriter(System.out));
+      int failedJobs = batchRunner.run(Paths.get(paths.get(0)), output);
+      output.flush();
+      if (output.checkError()) {
+        System.err.println("Could not write the results");
+        return 1;
+      }
+      if (placementCache != null) {
+        System.err.println("Placement cache: " + placementCache);
+      }
+      return failedJobs == 0 ? 0 : 1;
+    } catch (IOException | InterruptedException exceptionMessage) {
+      System.out.println(exceptionMessage.getMessage());
+      return 1;
+    }
+  }
+
+  /**
+   * @param arg an option of the command line
+   * @param prefix the name of the option, with its {@code '='}
+   * @return the value of the option
+   * @throws IllegalArgumentException when the value is not a number
+   */
+  private static int intOption(String arg, String prefix) {
+    try {
+      return Integer.parseInt(arg.substring(prefix.length()));
+    } catch (NumberFormatException exception) {
+      throw new IllegalArgumentException("Not a number: " + arg, exception);
+    }
+  }
 }
@@ -0,0 +1,267 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Directed acyclic word graph queried in place from a memory-mapped dictionary image. The image is
+ * written once by {@link #write(Dawg, Path)}, for example through {@link DictionaryCompiler}, and
+ * every process that opens it shares the same page cache instead of holding its own heap copy.
+ *
+ * <p>The image is little endian: a header of five ints (magic, version, word count, node count,
+ * edge count), then the nodes with their sentinel and the edge targets as ints, then the edge
+ * letters as chars. The arrays have the same layout as those of {@link Dawg}. The whole image is
+ * checked once when it is opened, so that a corrupt one is rejected instead of failing a query.
+ */
+public class MappedDawg implements WordDictionary {
+  static final int MAGIC = 0x47574144; /* "DAWG" */
+  static final int VERSION = 1;
+  private static final int HEADER_BYTES = 5 * Integer.BYTES;
+  private static final int LINEAR_SCAN_LIMIT = 8;
+  private static final byte ON_PATH = 1; /* States of a node while looking for a cycle */
+  private static final byte DONE = 2;
+
+  private final IntBuffer nodes; /* firstEdge << 1 | terminal bit, with one extra sentinel node */
+  private final IntBuffer edgeTargets;
+  private final CharBuffer edgeLetters;
+  private final int wordCount;
+  private final int nodeCount;
+
+  private MappedDawg(ByteBuffer image) throws IOException {
+    image.order(ByteOrder.LITTLE_ENDIAN);
+    if (image.capacity() < HEADER_BYTES
+        || image.getInt(0) != MAGIC
+        || image.getInt(Integer.BYTES) != VERSION) {
+      throw new IOException("Not a dictionary image");
+    }
+    wordCount = image.getInt(2 * Integer.BYTES);
+    nodeCount = image.getInt(3 * Integer.BYTES);
+    int edgeCount = image.getInt(4 * Integer.BYTES);
+
+    long expectedBytes =
+        HEADER_BYTES
+            + (long) (nodeCount + 1) * Integer.BYTES
+            + (long) edgeCount * Integer.BYTES
+            + (long) edgeCount * Character.BYTES;
+    if (wordCount < 0 || nodeCount < 1 || edgeCount < 0 || image.capacity() != expectedBytes) {
+      throw new IOException("Truncated or corrupt dictionary image");
+    }
+
+    int edgeTargetsStart = HEADER_BYTES + (nodeCount + 1) * Integer.BYTES;
+    int edgeLettersStart = edgeTargetsStart + edgeCount * Integer.BYTES;
+    nodes = slice(image, HEADER_BYTES, edgeTargetsStart).asIntBuffer();
+    edgeTargets = slice(image, edgeTargetsStart, edgeLettersStart).asIntBuffer();
+    edgeLetters = slice(image, edgeLettersStart, image.capacity()).asCharBuffer();
+
+    checkEdges(edgeCount);
+    checkAcyclic();
+  }
+
+  /**
+   * Checks that the edges of every node are a range of the edge arrays, sorted by letter, leading
+   * to nodes of the graph
+   *
+   * @param edgeCount number of edges in the image
+   * @throws IOException when an edge is out of place
+   */
+  private void checkEdges(int edgeCount) throws IOException {
+    if (nodes.get(0) >>> 1 != 0 || nodes.get(nodeCount) >>> 1 != edgeCount) {
+      throw new IOException("Corrupt dictionary image: edges do not span the edge arrays");
+    }
+    for (int node = 0; node < nodeCount; node++) {
+      int first = nodes.get(node) >>> 1;
+      int end = nodes.get(node + 1) >>> 1;
+      if (end < first) {
+        throw new IOException("Corrupt dictionary image: edges of node " + node + " out of order");
+      }
+      for (int edge = first; edge < end; edge++) {
+        int target = edgeTargets.get(edge);
+        if (target < 0 || target >= nodeCount) {
+          throw new IOException("Corrupt dictionary image: edge to missing node " + target);
+        }
+        if (edge > first && edgeLetters.get(edge) <= edgeLetters.get(edge - 1)) {
+          throw new IOException("Corrupt dictionary image: letters of node " + node + " unsorted");
+        }
+      }
+    }
+  }
+
+  /**
+   * Walks the graph depth first from the root, without recursion: a node reached again while it
+   * is on the current path closes a cycle, which would make every walk of the graph endless
+   *
+   * @throws IOException when the graph has a cycle
+   */
+  private void checkAcyclic() throws IOException {
+    byte[] states = new byte[nodeCount];
+    int[] path = new int[nodeCount];
+    int[] nextEdges = new int[nodeCount];
+    int depth = 0;
+    path[0] = root();
+    states[root()] = ON_PATH;
+    while (depth >= 0) {
+      int node = path[depth];
+      if (nextEdges[depth] == edgeCount(node)) {
+        states[node] = DONE;
+        depth--;
+        continue;
+      }
+      int target = edgeTarget(node, nextEdges[depth]++);
+      if (states[target] == ON_PATH) {
+        throw new IOException("Corrupt dictionary image: cycle through node " + target);
+      }
+      if (states[target] != DONE) {
+        states[target] = ON_PATH;
+        depth++;
+        path[depth] = target;
+        nextEdges[depth] = 0;
+      }
+    }
+  }
+
+  /**
+   * Maps a dictionary image read-only
+   *
+   * @param image path of the image
+   * @return the dictionary, backed by the mapping
+   * @throws IOException when the file cannot be read or is not a dictionary image
+   */
+  public static MappedDawg open(Path image) throws IOException {
+    try (FileChannel channel = FileChannel.open(image, StandardOpenOption.READ)) {
+      /* The mapping stays valid after the channel is closed */
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      return new MappedDawg(buffer);
+    }
+  }
+
+  /**
+   * Writes the image of a compiled graph
+   *
+   * @param dawg the graph
+   * @param image path of the image, replaced if it exists
+   * @throws IOException when there is an issue writing the file
+   */
+  public static void write(Dawg dawg, Path image) throws IOException {
+    int nodeCount = dawg.nodeCount();
+    int edgeCount = dawg.edgeCount();
+    ByteBuffer buffer =
+        ByteBuffer.allocate(
+                HEADER_BYTES
+                    + (nodeCount + 1) * Integer.BYTES
+                    + edgeCount * Integer.BYTES
+                    + edgeCount * Character.BYTES)
+            .order(ByteOrder.LITTLE_ENDIAN);
+    buffer.putInt(MAGIC).putInt(VERSION).putInt(dawg.size()).putInt(nodeCount).putInt(edgeCount);
+
+    /* Edges of consecutive nodes are contiguous, so the first edges are running totals */
+    int firstEdge = 0;
+    for (int node = 0; node < nodeCount; node++) {
+      buffer.putInt(firstEdge << 1 | (dawg.isWord(node) ? 1 : 0));
+      firstEdge += dawg.edgeCount(node);
+    }
+    buffer.putInt(firstEdge << 1);
+
+    for (int node = 0; node < nodeCount; node++) {
+      for (int edge = 0; edge < dawg.edgeCount(node); edge++) {
+        buffer.putInt(dawg.edgeTarget(node, edge));
+      }
+    }
+    for (int node = 0; node < nodeCount; node++) {
+      for (int edge = 0; edge < dawg.edgeCount(node); edge++) {
+        buffer.putChar(dawg.edgeLetter(node, edge));
+      }
+    }
+
+    buffer.flip();
+    try (FileChannel channel =
+        FileChannel.open(
+            image,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE)) {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    }
+  }
+
+  @Override
+  public int root() {
+    return 0;
+  }
+
+  @Override
+  public int child(int node, char letter) {
+    if (node == NONE) {
+      return NONE;
+    }
+    int low = nodes.get(node) >>> 1;
+    int high = (nodes.get(node + 1) >>> 1) - 1;
+
+    if (high - low < LINEAR_SCAN_LIMIT) {
+      for (int edge = low; edge <= high; edge++) {
+        if (edgeLetters.get(edge) == letter) {
+          return edgeTargets.get(edge);
+        }
+      }
+      return NONE;
+    }
+
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      char middleLetter = edgeLetters.get(middle);
+      if (middleLetter < letter) {
+        low = middle + 1;
+      } else if (middleLetter > letter) {
+        high = middle - 1;
+      } else {
+        return edgeTargets.get(middle);
+      }
+    }
+    return NONE;
+  }
+
+  @Override
+  public boolean isWord(int node) {
+    return node != NONE && (nodes.get(node) & 1) != 0;
+  }
+
+  @Override
+  public int edgeCount(int node) {
+    return (nodes.get(node + 1) >>> 1) - (nodes.get(node) >>> 1);
+  }
+
+  @Override
+  public char edgeLetter(int node, int edge) {
+    return edgeLetters.get((nodes.get(node) >>> 1) + edge);
+  }
+
+  @Override
+  public int edgeTarget(int node, int edge) {
+    return edgeTargets.get((nodes.get(node) >>> 1) + edge);
+  }
+
+  @Override
+  public int size() {
+    return wordCount;
+  }
+
+  /**
+   * @return number of nodes in the graph
+   */
+  @Override
+  public int nodeCount() {
+    return nodeCount;
+  }
+
+  private static ByteBuffer slice(ByteBuffer image, int from, int to) {
+    ByteBuffer view = image.duplicate();
+    view.position(from).limit(to);
+    return view.slice().order(ByteOrder.LITTLE_ENDIAN);
+  }
+}
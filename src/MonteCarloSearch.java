@@ -0,0 +1,313 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monte Carlo tree search over the orderings of a set of words, for sets too large for the
+ * exhaustive search. Each node of the tree is a prefix of an ordering. An iteration walks down the
+ * tree choosing children by UCT, adds one child, then plays the rest of the ordering out in a
+ * random order, each word going to its greedy best position through {@link PlaceWord}, and backs
+ * the score of the ordering up the path. A complete ordering is played once: a node whose
+ * orderings were all played, or are known to fail, is exhausted and never walked down again, and
+ * the search ends, its best ordering proven optimal, once the root is exhausted.
+ *
+ * <p>Iterations run in parallel on the workers of a pool, sharing one tree. A worker walking down
+ * a node adds a virtual loss to it, an unrewarded visit taken back when its score is backed up, so
+ * that concurrent workers spread over different paths instead of all following the best one.
+ */
+public class MonteCarloSearch implements SolveStrategy {
+  private static final int UNSOLVED = -1;
+  private static final double EXPLORATION = Math.sqrt(2);
+
+  private final int iterations;
+  private final ForkJoinPool pool; /* null to run on the calling thread */
+  private final long seed;
+
+  /**
+   * @param iterations number of orderings played out, unless the budget runs out first
+   * @param pool the pool running the iterations, or null to run them on the calling thread
+   */
+  public MonteCarloSearch(int iterations, ForkJoinPool pool) {
+    this(iterations, pool, 0x5DEECE66DL);
+  }
+
+  /**
+   * @param iterations number of orderings played out, unless the budget runs out first
+   * @param pool the pool running the iterations, or null to run them on the calling thread
+   * @param seed seed of the random play outs, repeatable on the calling thread only
+   */
+  public MonteCarloSearch(int iterations, ForkJoinPool pool, long seed) {
+    if (iterations < 1) {
+      throw new IllegalArgumentException("Iterations must be at least 1: " + iterations);
+    }
+    this.iterations = iterations;
+    this.pool = pool;
+    this.seed = seed;
+  }
+
+  @Override
+  public String name() {
+    return "Monte Carlo search of " + iterations + " iterations";
+  }
+
+  @Override
+  public BestOrdering search(SolverResources resources, Set<String> words, SearchBudget budget) {
+    String[] wordArray = new ArrayList<>(words).toArray(new String[0]);
+    ScoreBounds bounds = resources.scoreBounds(wordArray);
+    /* Children are added from the highest bound down */
+    Arrays.sort(wordArray, Comparator.comparingLong(bounds::of).reversed());
+
+    Tree tree = new Tree(resources, wordArray, budget);
+    if (pool == null) {
+      tree.work(new Random(seed));
+    } else {
+      List<Callable<Void>> workers = new ArrayList<>();
+      for (int worker = 0; worker < pool.getParallelism(); worker++) {
+        Random random = new Random(seed + worker);
+        workers.add(
+            () -> {
+              tree.work(random);
+              return null;
+            });
+      }
+      for (Future<Void> worker : pool.invokeAll(workers)) {
+        join(worker);
+      }
+    }
+
+    /* The best ordering is proven optimal only once every ordering was played or known to fail */
+    long bound = bounds.ofCompletions(0, wordArray, 0);
+    if (tree.isStopped) {
+      budget.recordStop(bound);
+    } else if (!tree.root.isExhausted) {
+      budget.recordUnexplored(bound);
+    }
+    return tree.best;
+  }
+
+  /* Rethrows the failure of a worker on the calling thread */
+  private static void join(Future<Void> worker) {
+    try {
+      worker.get();
+    } catch (ExecutionException executionException) {
+      Throwable cause = executionException.getCause();
+      throw cause instanceof RuntimeException
+          ? (RuntimeException) cause
+          : new IllegalStateException(cause);
+    } catch (InterruptedException interruptedException) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /** The tree shared by the workers of one search */
+  private final class Tree {
+    private final SolverResources resources;
+    private final String[] words;
+    private final Set<String> allWords;
+    private final SearchBudget budget;
+    private final Node root;
+    private final BestOrdering best = new BestOrdering();
+    private final AtomicLong iterationsLeft = new AtomicLong(iterations);
+    private final AtomicInteger bestScore = new AtomicInteger(); /* Normalises the rewards */
+    private volatile boolean isStopped;
+
+    private Tree(SolverResources resources, String[] words, SearchBudget budget) {
+      this.resources = resources;
+      this.words = words;
+      this.allWords = new HashSet<>(Arrays.asList(words));
+      this.budget = budget;
+      this.root = new Node(null, -1, words.length);
+    }
+
+    /**
+     * Runs iterations until they are all done, the budget runs out or every ordering is played or
+     * known to fail
+     *
+     * @param random source of the play out orders of this worker
+     */
+    private void work(Random random) {
+      PlaceWord placeWord =
+          resources.newPlaceWord(resources.puzzleTemplate().newBoard(), new ArrayList<>());
+      placeWord.setSolveWords(allWords);
+      while (!root.isExhausted && iterationsLeft.getAndDecrement() > 0) {
+        if (budget.isExhausted()) {
+          isStopped = true;
+          return;
+        }
+        iterate(placeWord, random);
+      }
+    }
+
+    private void iterate(PlaceWord placeWord, Random random) {
+      Node leaf = descend();
+
+      /* The ordering of the leaf, followed by the other words in random order */
+      List<String> order = new ArrayList<>(words.length);
+      for (Node node = leaf; node.parent != null; node = node.parent) {
+        order.add(words[node.word]);
+      }
+      Collections.reverse(order);
+      int prefixLength = order.size();
+      List<String> rest = new ArrayList<>(allWords);
+      rest.removeAll(order);
+      Collections.shuffle(rest, random);
+      order.addAll(rest);
+
+      int total = 0;
+      int placed = 0;
+      for (String word : order) {
+        int wordScore = placeWord.place(word);
+        placed++;
+        if (wordScore == UNSOLVED) {
+          total = UNSOLVED;
+          break;
+        }
+        total += wordScore;
+      }
+
+      /* A complete ordering always plays out the same, it is never played again */
+      if (leaf.depth == words.length) {
+        leaf.isExhausted = true;
+      }
+      double reward = 0;
+      if (total == UNSOLVED) {
+        /* The prefix of every other node on the path was placed by an earlier iteration */
+        if (placed == prefixLength && leaf.parent != null) {
+          leaf.isExhausted = true;
+        }
+      } else {
+        total += placeWord.augmentedScore();
+        best.offer(total, 0, order.toArray(new String[0]));
+        int normaliser = bestScore.accumulateAndGet(total, Math::max);
+        reward = normaliser > 0 ? (double) Math.max(total, 0) / normaliser : 0;
+      }
+
+      for (int k = 0; k < placed; k++) {
+        placeWord.undo();
+      }
+      for (Node node = leaf; node != null; node = node.parent) {
+        node.backUp(reward);
+      }
+    }
+
+    /**
+     * Walks down the tree by UCT, adding a virtual loss to every node on the way, until it adds a
+     * new child or reaches a complete ordering
+     *
+     * @return the last node of the path
+     */
+    private Node descend() {
+      Node node = root;
+      while (true) {
+        Node next;
+        synchronized (node) {
+          node.virtualLosses++;
+          if (node.depth == words.length) {
+            return node;
+          }
+          if (node.nextUntried < node.depthRemaining()) {
+            next = node.expand();
+            synchronized (next) {
+              next.virtualLosses++;
+            }
+            return next;
+          }
+          next = node.select();
+          if (next == null) {
+            /* Every child is exhausted, so is the node */
+            node.isExhausted = true;
+            return node;
+          }
+        }
+        node = next;
+      }
+    }
+
+    /** A prefix of an ordering with the statistics of the play outs through it */
+    private final class Node {
+      private final Node parent; /* null for the root */
+      private final int word; /* Index of the last word of the prefix, -1 for the root */
+      private final int depth;
+      private final boolean[] isInPrefix;
+      private final List<Node> children = new ArrayList<>();
+      private int nextUntried; /* Children added so far */
+      private int visits;
+      private int virtualLosses; /* Workers below this node whose score is not backed up yet */
+      private double rewards;
+      /* Every ordering through the node was played or is known to fail */
+      private volatile boolean isExhausted;
+
+      private Node(Node parent, int word, int wordCount) {
+        this.parent = parent;
+        this.word = word;
+        this.depth = parent == null ? 0 : parent.depth + 1;
+        this.isInPrefix = parent == null ? new boolean[wordCount] : parent.isInPrefix.clone();
+        if (word >= 0) {
+          isInPrefix[word] = true;
+        }
+      }
+
+      private int depthRemaining() {
+        return isInPrefix.length - depth;
+      }
+
+      /* Adds the child of the next word not in the prefix, called holding the lock of the node */
+      private Node expand() {
+        int skipped = 0;
+        for (int i = 0; i < isInPrefix.length; i++) {
+          if (!isInPrefix[i] && skipped++ == nextUntried) {
+            Node child = new Node(this, i, isInPrefix.length);
+            children.add(child);
+            nextUntried++;
+            return child;
+          }
+        }
+        throw new IllegalStateException("Node has no untried word");
+      }
+
+      /* The child left to explore with the best UCT value, called holding the lock of the node */
+      private Node select() {
+        double logVisits = Math.log(Math.max(1, visits + virtualLosses));
+        Node selected = null;
+        double selectedValue = Double.NEGATIVE_INFINITY;
+        for (Node child : children) {
+          if (child.isExhausted) {
+            continue;
+          }
+          double value;
+          synchronized (child) {
+            int childVisits = child.visits + child.virtualLosses;
+            value =
+                childVisits == 0
+                    ? Double.POSITIVE_INFINITY
+                    : child.rewards / childVisits
+                        + EXPLORATION * Math.sqrt(logVisits / childVisits);
+          }
+          if (value > selectedValue) {
+            selected = child;
+            selectedValue = value;
+          }
+        }
+        return selected;
+      }
+
+      /* Replaces the virtual loss of the worker with its reward */
+      private synchronized void backUp(double reward) {
+        virtualLosses--;
+        visits++;
+        rewards += reward;
+      }
+    }
+  }
+}
@@ -0,0 +1,386 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Depth-first search over the orderings of a word array. Orderings are visited in the same swap
+ * order as the original permutation generator, but a shared prefix is placed only once: each word
+ * is placed when the search descends and taken back through the {@link PlaceWord} undo journal
+ * when it backtracks.
+ *
+ * <p>Different prefixes often leave the same board with the same words to place. The search keeps
+ * the best completions of the states it has explored in a {@link TranspositionTable} and, on
+ * reaching a known state again, offers those completions instead of exploring it. Only states
+ * whose subtree never went through the order dependent cross placement are recorded, and every
+ * completion tied for the best score is kept, so the result, ties included, is the same as a full
+ * exploration.
+ *
+ * <p>With {@link ScoreBounds}, the search is a branch and bound: a state whose score so far plus
+ * the bounds of its remaining words cannot reach the best score found so far is not explored, and
+ * the words of a state are tried from the highest bound down so that a strong ordering is found
+ * early. A state is pruned only when it cannot even tie the best score, so the result is unchanged.
+ *
+ * <p>The search polls a {@link SearchBudget} before each placement. Once the budget is spent it
+ * unwinds, leaving the best ordering found so far, and records the bound of what it left
+ * unexplored.
+ */
+public class PermutationSearch {
+  private static final int UNSOLVED = -1;
+  /* States with more completions tied for the best score are not recorded */
+  private static final int MAX_TIED_ORDERS = 16;
+
+  private final PlaceWord placeWord;
+  private final String[] words;
+  private final BestOrdering best;
+  private final TranspositionTable table; /* null when the states are not recorded */
+  private final ScoreBounds bounds; /* null when no state is pruned */
+  private final SearchBudget budget;
+  private final Map<String, Long> wordBits = new HashMap<>();
+  private final Set<String> allWords;
+  private final List<State> openStates = new ArrayList<>(); /* States being explored */
+  private int prunedStates;
+  private long exploredOrderings; /* Complete orderings placed */
+  private boolean isStopped; /* The budget ran out, states are no longer recorded */
+
+  /**
+   * @param placeWord placement engine working on a board of its own
+   * @param words the words, permuted in place during the search
+   * @param best holder receiving the best ordering of every explored state
+   */
+  public PermutationSearch(PlaceWord placeWord, String[] words, BestOrdering best) {
+    this(placeWord, words, best, null, SearchBudget.unlimited());
+  }
+
+  /**
+   * @param placeWord placement engine working on a board of its own
+   * @param words the words, permuted in place during the search
+   * @param best holder receiving the best ordering of every explored state, shared by the searches
+   *     pruning against it
+   * @param bounds upper bounds of the words, or null to explore every state
+   * @param budget polled to stop the search, shared by the searches of one solve
+   */
+  public PermutationSearch(
+      PlaceWord placeWord,
+      String[] words,
+      BestOrdering best,
+      ScoreBounds bounds,
+      SearchBudget budget) {
+    this.placeWord = placeWord;
+    this.words = words;
+    this.best = best;
+    this.bounds = bounds;
+    this.budget = budget;
+    this.allWords = new HashSet<>(Arrays.asList(words));
+    placeWord.setSolveWords(allWords);
+
+    /* The remaining words are tracked as a bit set */
+    if (words.length <= Long.SIZE && allWords.size() == words.length) {
+      for (int i = 0; i < words.length; i++) {
+        wordBits.put(words[i], 1L << i);
+      }
+      this.table = TranspositionTable.forWords(words.length);
+    } else {
+      this.table = null;
+    }
+  }
+
+  /**
+   * Places the fixed prefix {@code words[0..left)} and then visits every ordering of the rest
+   *
+   * @param left number of words already fixed
+   * @param rank rank of the fixed prefix in the sequential permutation order
+   */
+  public void search(int left, long rank) {
+    PermutationSearchEvent event = new PermutationSearchEvent();
+    event.begin();
+    long orderingsMark = exploredOrderings;
+    int prunedMark = prunedStates;
+    long hitsMark = table == null ? 0 : table.hits();
+    long missesMark = table == null ? 0 : table.misses();
+
+    searchBelow(left, rank);
+
+    long tableHits = table == null ? 0 : table.hits() - hitsMark;
+    long tableMisses = table == null ? 0 : table.misses() - missesMark;
+    if (PlacementMetrics.isEnabled()) {
+      PlacementMetrics.recordPermutationSearch(
+          exploredOrderings - orderingsMark, prunedStates - prunedMark, tableHits, tableMisses);
+    }
+    event.end();
+    if (event.shouldCommit()) {
+      event.fixedWords = left;
+      event.words = words.length;
+      event.orderingsExplored = exploredOrderings - orderingsMark;
+      event.statesPruned = prunedStates - prunedMark;
+      event.transpositionHits = tableHits;
+      event.transpositionMisses = tableMisses;
+      event.commit();
+    }
+  }
+
+  /* Body of search, reporting nothing */
+  private void searchBelow(int left, long rank) {
+    int score = 0;
+    for (int i = 0; i < left; i++) {
+      int wordScore = placeWord.place(words[i]);
+      if (wordScore == UNSOLVED) {
+        offerFailedSubtree(left, rank);
+        return;
+      }
+      score += wordScore;
+    }
+
+    long remaining = 0;
+    for (int i = left; table != null && i < words.length; i++) {
+      remaining |= wordBits.get(words[i]);
+    }
+    explore(left, rank, score, remaining);
+  }
+
+  /**
+   * Recursive helper placing {@code words[depth]} for every choice of word at this depth
+   *
+   * @param depth number of words placed so far
+   * @param rank rank of the placed prefix
+   * @param score score of the placed prefix, without augmented words
+   * @param remaining bit set of the words still to place
+   */
+  private void explore(int depth, long rank, int score, long remaining) {
+    /* If we have placed every word, we have a complete ordering */
+    if (depth == words.length) {
+      int total = score + placeWord.augmentedScore();
+      exploredOrderings++;
+      best.offer(total, rank, words);
+      recordOrdering(total);
+      return;
+    }
+
+    /* Only the states inside the search tree can be reached through different prefixes */
+    boolean isRecordable =
+        table != null && depth > 0 && words.length - depth > 1 && placeWord.hasValidBoard();
+    int base = isRecordable || bounds != null ? score + placeWord.augmentedScore() : 0;
+
+    long boardHash = 0;
+    if (isRecordable) {
+      boardHash = placeWord.boardHash();
+      int slot = table.find(boardHash, remaining);
+      if (slot >= 0) {
+        offerKnownState(depth, rank, base, slot);
+        return;
+      }
+    }
+
+    if (cannotReachBest(depth, base)) {
+      prunedStates++;
+      return;
+    }
+
+    State state = null;
+    if (isRecordable) {
+      state =
+          new State(
+              depth, boardHash, remaining, base, placeWord.crossWordAttempts(), prunedStates);
+      openStates.add(state);
+    }
+
+    int remainingCount = words.length - depth;
+    for (int i : childOrder(depth)) {
+      if (budget.isExhausted()) {
+        /* The words not tried yet at this depth are left unexplored */
+        budget.recordStop(
+            bounds == null ? Long.MAX_VALUE : bounds.ofCompletions(base, words, depth));
+        isStopped = true;
+        break;
+      }
+      swap(depth, i);
+      long childRank = rank * remainingCount + (i - depth);
+
+      int wordScore = placeWord.place(words[depth]);
+      if (wordScore == UNSOLVED) {
+        /* Every ordering starting with this prefix fails at the same word */
+        offerFailedSubtree(depth + 1, childRank);
+      } else {
+        long childRemaining = table == null ? 0 : remaining & ~wordBits.get(words[depth]);
+        explore(depth + 1, childRank, score + wordScore, childRemaining);
+      }
+
+      /* Backtrack by taking the word off the board and swapping the words back */
+      placeWord.undo();
+      swap(depth, i);
+    }
+
+    if (state != null) {
+      openStates.remove(openStates.size() - 1);
+      /* A pruned subtree leaves the completions of the state incomplete */
+      if (!state.isTooTied
+          && !isStopped
+          && state.crossWordMark == placeWord.crossWordAttempts()
+          && state.prunedMark == prunedStates) {
+        int bestScore = state.orders.isEmpty() ? UNSOLVED : state.bestTotal - state.base;
+        table.put(
+            state.boardHash, state.remaining, bestScore, state.orders.toArray(new String[0][]));
+      }
+    }
+  }
+
+  /**
+   * @param depth number of words placed so far
+   * @param base score of the placed prefix, with its augmented words
+   * @return true if no completion of the state can reach the best score found so far
+   */
+  private boolean cannotReachBest(int depth, int base) {
+    if (bounds == null) {
+      return false;
+    }
+    /* Failed orderings tie with each other at -1, so they must all be seen until one succeeds */
+    int bestScore = best.score();
+    return bestScore >= 0 && bounds.ofRemaining(words, depth) < (long) bestScore - base;
+  }
+
+  /**
+   * The order in which the words still to place are tried at a depth. Any order visits the same
+   * orderings with the same ranks; with bounds, the words of highest bound come first.
+   *
+   * @param depth number of words placed so far
+   * @return the indexes of the words still to place
+   */
+  private int[] childOrder(int depth) {
+    int[] order = new int[words.length - depth];
+    for (int k = 0; k < order.length; k++) {
+      order[k] = depth + k;
+    }
+    if (bounds != null) {
+      /* Stable insertion sort, the arrays being a handful of words */
+      for (int k = 1; k < order.length; k++) {
+        int index = order[k];
+        long bound = bounds.of(words[index]);
+        int position = k;
+        while (position > 0 && bounds.of(words[order[position - 1]]) < bound) {
+          order[position] = order[position - 1];
+          position--;
+        }
+        order[position] = index;
+      }
+    }
+    return order;
+  }
+
+  /**
+   * Offers the recorded best completions of a state instead of exploring it. The rank of each
+   * completion is the one it has under the current arrangement of the remaining words.
+   *
+   * @param depth number of words placed so far
+   * @param rank rank of the placed prefix
+   * @param base score of the placed prefix, with its augmented words
+   * @param slot slot of the state in the table
+   */
+  private void offerKnownState(int depth, long rank, int base, int slot) {
+    int bestScore = table.bestScore(slot);
+    if (bestScore == UNSOLVED) {
+      offerFailedSubtree(depth, rank);
+      return;
+    }
+
+    int[] swappedWith = new int[words.length];
+    for (String[] order : table.bestOrders(slot)) {
+      long leafRank = rank;
+      for (int k = depth; k < words.length; k++) {
+        int i = k;
+        while (!words[i].equals(order[k - depth])) {
+          i++;
+        }
+        leafRank = leafRank * (words.length - k) + (i - k);
+        swap(k, i);
+        swappedWith[k] = i;
+      }
+
+      best.offer(base + bestScore, leafRank, words);
+      recordOrdering(base + bestScore);
+
+      for (int k = words.length - 1; k >= depth; k--) {
+        swap(k, swappedWith[k]);
+      }
+    }
+  }
+
+  /**
+   * Records the current arrangement of the words, a complete ordering, as a completion of every
+   * state being explored
+   *
+   * @param total score of the ordering
+   */
+  private void recordOrdering(int total) {
+    for (State state : openStates) {
+      if (state.orders.isEmpty() || total > state.bestTotal) {
+        state.bestTotal = total;
+        state.orders.clear();
+        state.orders.add(Arrays.copyOfRange(words, state.depth, words.length));
+      } else if (total == state.bestTotal) {
+        if (state.orders.size() < MAX_TIED_ORDERS) {
+          state.orders.add(Arrays.copyOfRange(words, state.depth, words.length));
+        } else {
+          state.isTooTied = true;
+        }
+      }
+    }
+  }
+
+  /**
+   * Reports the failure of a whole subtree through its last ordering, which is the one the
+   * sequential solver would have kept if no ordering at all could be placed
+   *
+   * @param depth number of words fixed by the subtree
+   * @param rank rank of the fixed prefix
+   */
+  private void offerFailedSubtree(int depth, long rank) {
+    int last = words.length - 1;
+    for (int i = depth; i < last; i++) {
+      swap(i, last);
+      rank = rank * (words.length - i) + (last - i);
+    }
+
+    best.offer(UNSOLVED, rank, words);
+
+    for (int i = last - 1; i >= depth; i--) {
+      swap(i, last);
+    }
+  }
+
+  private void swap(int i, int j) {
+    String temp = words[i];
+    words[i] = words[j];
+    words[j] = temp;
+  }
+
+  /** A state being explored, collecting its best completions */
+  private static final class State {
+    private final int depth;
+    private final long boardHash;
+    private final long remaining;
+    private final int base; /* Score of the prefix, with its augmented words */
+    private final int crossWordMark; /* Cross placements made before entering the state */
+    private final int prunedMark; /* States pruned before entering the state */
+    private final List<String[]> orders = new ArrayList<>();
+    private int bestTotal;
+    private boolean isTooTied;
+
+    private State(
+        int depth,
+        long boardHash,
+        long remaining,
+        int base,
+        int crossWordMark,
+        int prunedMark) {
+      this.depth = depth;
+      this.boardHash = boardHash;
+      this.remaining = remaining;
+      this.base = base;
+      this.crossWordMark = crossWordMark;
+      this.prunedMark = prunedMark;
+    }
+  }
+}
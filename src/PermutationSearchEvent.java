@@ -0,0 +1,32 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Flight Recorder event of one branch and bound search below a fixed prefix of words */
+@Name("wordplacement.PermutationSearch")
+@Label("Permutation Search")
+@Category("Word Placement")
+@Description("Branch and bound search of the orderings of the words left after a fixed prefix")
+@StackTrace(false)
+class PermutationSearchEvent extends jdk.jfr.Event {
+  @Label("Fixed Words")
+  int fixedWords;
+
+  @Label("Words")
+  int words;
+
+  @Label("Orderings Explored")
+  long orderingsExplored;
+
+  @Label("States Pruned")
+  long statesPruned;
+
+  @Label("Transposition Hits")
+  @Description("States found in the transposition table, credited without exploring them")
+  long transpositionHits;
+
+  @Label("Transposition Misses")
+  long transpositionMisses;
+}
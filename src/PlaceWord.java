@@ -1,35 +1,71 @@
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 public class PlaceWord {
   /* CONSTANTS */
   private static final int UNSOLVED = -1;
-  private static final String smallLettersRegex = "[a-z]";
 
   /* DATA STRUCTURES */
-  private char[][] board;
-  private int[][] letterMultipliers;
-  private int[][] wordMultipliers;
-  private Set<String> dictionarySet;
-  private Map<Character, Integer> letterValueMap;
+  private BoardState board;
+  private WordDictionary dictionary;
+  private LetterValues letterValues;
   private List<String> placedWordsList;
-  private List<NewWord> placedWordsMetadata = new ArrayList<>();
-  private List<String> validAugmentedWords = new ArrayList<>();
+  private PlacementStore placements = new PlacementStore(); /* Metadata of the words placed */
+  private Set<String> earlierWords; /* Words in the placed list before this engine, or null */
+  private int augmentedScore; /* Score of the augmented words formed by the committed placements */
+  private String[] solveWords = new String[0]; /* Words never scored as augmented words */
+  private PlacementJournal journal = new PlacementJournal();
+  private PlacementOverlay overlay;
+  private CrossChecks crossChecks;
+  private AnchorIndex anchorIndex;
+  private int invalidPlacements; /* Unvalidated placements that formed invalid words */
+  private PlacementCache placementCache; /* Shared best placements, null when not caching */
+  private int crossWordAttempts; /* Calls to the order dependent cross placement */
+  private int candidatesEvaluated; /* Positions scanned for the best placement */
+  private int validations; /* Candidate placements checked for the words they form */
+  private boolean isRecording; /* PlacementMetrics were enabled when the placement started */
+  private long dictionaryId;
+  private long valuesId;
 
   public PlaceWord(
-      char[][] board,
-      int[][] letterMultipliers,
-      int[][] wordMultipliers,
-      Set<String> dictionarySet,
-      Map<Character, Integer> letterValueMap,
+      BoardState board,
+      WordDictionary dictionary,
+      LetterValues letterValues,
       List<String> placedWordsList) {
     this.board = board;
-    this.letterMultipliers = letterMultipliers;
-    this.wordMultipliers = wordMultipliers;
-    this.dictionarySet = dictionarySet;
-    this.letterValueMap = letterValueMap;
+    this.dictionary = dictionary;
+    this.letterValues = letterValues;
     this.placedWordsList = placedWordsList;
+    if (!placedWordsList.isEmpty()) {
+      /* Placed by another engine, so their positions are not known */
+      this.earlierWords = new HashSet<>(placedWordsList);
+    }
+    this.crossChecks = new CrossChecks(board, dictionary);
+    this.anchorIndex = new AnchorIndex(board);
+    this.overlay = new PlacementOverlay(board);
+  }
+
+  /**
+   * Creates a placement engine that looks up and records the best placements of its words in a
+   * cache shared with other engines
+   *
+   * @param board the board to place words on
+   * @param dictionary the allowed words
+   * @param letterValues value of each letter when scoring
+   * @param placedWordsList receives the words placed
+   * @param placementCache the shared cache, or null to scan the board for every word
+   */
+  public PlaceWord(
+      BoardState board,
+      WordDictionary dictionary,
+      LetterValues letterValues,
+      List<String> placedWordsList,
+      PlacementCache placementCache) {
+    this(board, dictionary, letterValues, placedWordsList);
+    if (placementCache != null) {
+      this.placementCache = placementCache;
+      this.dictionaryId = PlacementCache.idOf(dictionary);
+      this.valuesId = PlacementCache.idOf(letterValues);
+    }
   }
 
   /**
@@ -40,27 +76,141 @@ public class PlaceWord {
    */
   public int placeWords(List<String> words) {
     int totalScore = 0;
+    setSolveWords(new HashSet<>(words));
 
     for (String word : words) {
-      if (!isWordInDictionary(word)) {
-        return UNSOLVED;
-      }
-
-      int wordScore = placeWord(word);
+      int wordScore = place(word);
 
       /* If word score cannot be computed */
       if (wordScore == UNSOLVED) {
         return UNSOLVED;
       }
       totalScore += wordScore;
-      placedWordsList.add(word);
     }
 
-    int augmentedScore = calculateAugmentedScore();
-
     return totalScore + augmentedScore;
   }
 
+  /**
+   * Places a single word on the board, recording the placement in the undo journal so that it can
+   * be taken back with {@link #undo()}. A frame is recorded even when the word cannot be placed.
+   *
+   * @param word the word to be placed
+   * @return score of the word, or -1 when the word cannot be placed
+   */
+  public int place(String word) {
+    PlacementEvent event = new PlacementEvent();
+    event.begin();
+    isRecording = PlacementMetrics.isEnabled();
+    long start = isRecording ? System.nanoTime() : 0;
+    int candidatesMark = candidatesEvaluated;
+    int validationsMark = validations;
+    int crossWordMark = crossWordAttempts;
+
+    int wordScore = placeInFrame(word);
+
+    if (isRecording) {
+      PlacementMetrics.recordPlacement(
+          System.nanoTime() - start,
+          candidatesEvaluated - candidatesMark,
+          validations - validationsMark);
+    }
+    event.end();
+    if (event.shouldCommit()) {
+      event.word = word;
+      event.score = wordScore;
+      event.candidates = candidatesEvaluated - candidatesMark;
+      event.validations = validations - validationsMark;
+      event.crossWord = crossWordAttempts != crossWordMark;
+      event.commit();
+    }
+    return wordScore;
+  }
+
+  /* Body of place, reporting nothing */
+  private int placeInFrame(String word) {
+    journal.beginFrame(
+        placedWordsList.size(),
+        placements.size(),
+        augmentedScore,
+        invalidPlacements);
+
+    if (!isWordInDictionary(word)) {
+      return UNSOLVED;
+    }
+
+    int wordScore = placeWord(word);
+
+    if (wordScore == UNSOLVED) {
+      return UNSOLVED;
+    }
+    placedWordsList.add(word);
+
+    return wordScore;
+  }
+
+  /** Takes back the last call to {@link #place(String)}, restoring the board and the word lists */
+  public void undo() {
+    placedWordsList.subList(journal.placedWordsMark(), placedWordsList.size()).clear();
+    placements.truncate(journal.placementsMark());
+    augmentedScore = journal.augmentedScoreMark();
+    invalidPlacements = journal.invalidPlacementsMark();
+    journal.restore(board);
+    for (int i = journal.frameStart(); i < journal.cellCount(); i++) {
+      crossChecks.cellChanged(journal.rowAt(i), journal.columnAt(i));
+      anchorIndex.cellChanged(journal.rowAt(i), journal.columnAt(i));
+    }
+    journal.dropFrame();
+  }
+
+  /**
+   * @return score of the augmented words formed by the words placed so far
+   */
+  public int augmentedScore() {
+    return augmentedScore;
+  }
+
+  /**
+   * Sets the words of the solve: a word formed by a placement that is one of them is not scored as
+   * an augmented word, as it is, or will be, scored as a placed word
+   *
+   * @param words every word that will have been placed
+   */
+  void setSolveWords(Set<String> words) {
+    this.solveWords = words.toArray(new String[0]);
+  }
+
+  /**
+   * @param word a word
+   * @return true if the word is already on the board
+   */
+  private boolean isPlaced(String word) {
+    return placements.contains(word) || (earlierWords != null && earlierWords.contains(word));
+  }
+
+  /**
+   * @return hash of the board, see {@link BoardState#zobristHash()}
+   */
+  long boardHash() {
+    return board.zobristHash();
+  }
+
+  /**
+   * @return true if the placements so far leave no invalid word on the board, in which case the
+   *     next placements depend on the board and the placed words alone
+   */
+  boolean hasValidBoard() {
+    return invalidPlacements == 0;
+  }
+
+  /**
+   * @return number of words that went through the cross placement, whose result depends on the
+   *     order the words were placed in
+   */
+  int crossWordAttempts() {
+    return crossWordAttempts;
+  }
+
   /**
    * This method handles the actual placing of the word on the board
    *
@@ -68,99 +218,133 @@ public class PlaceWord {
    * @return score of the word after getting placed
    */
   private int placeWord(String word) {
-    int bestScore;
+    /* The scan depends on the board alone unless it holds an invalid word or the word is placed */
+    boolean isCacheable =
+        placementCache != null && invalidPlacements == 0 && !isPlaced(word);
+
+    PlacementCache.Placement placement =
+        isCacheable ? placementCache.get(board, word, dictionaryId, valuesId) : null;
+    if (placement == null) {
+      placement = scanBoard(word);
+      if (isCacheable) {
+        placementCache.put(board, word, dictionaryId, valuesId, placement);
+      }
+    }
+
+    /* If we did not find any best placements, check for cross-placement */
+    if (placement.crossWord) {
+      crossWordAttempts++;
+      if (!isRecording) {
+        return checkCrossWord(word);
+      }
+      long start = System.nanoTime();
+      int wordScore = checkCrossWord(word);
+      PlacementMetrics.recordCrossWord(System.nanoTime() - start);
+      return wordScore;
+    }
+    return commit(word, placement);
+  }
+
+  /**
+   * Scans the board for the best placement of a word, collecting the augmented words of the valid
+   * candidates
+   *
+   * @param word the word to be placed
+   * @return the best placement, or the cross placement fall back when there is none
+   */
+  private PlacementCache.Placement scanBoard(String word) {
     int[] horizontalScoreArray = {0, 0, -1}; /* {row, column, score} */
     int[] verticalScoreArray = {0, 0, -1}; /* {row, column, score} */
 
-    lines:
-    for (int currentRow = 0; currentRow < board.length; currentRow++) {
-      characters:
-      for (int currentColumn = 0; currentColumn < board[currentRow].length; currentColumn++) {
-
-        /* Adding first word */
-        if (board[currentRow][currentColumn] == '*') {
-
-          int[] horizontalScoreArrayForFirst =
-              getBestPlacementForFirstWordOnBoard(currentRow, currentColumn, word, true);
-          int[] verticalScoreArrayForFirst =
-              getBestPlacementForFirstWordOnBoard(currentRow, currentColumn, word, false);
-
-          if (horizontalScoreArrayForFirst[1] >= verticalScoreArrayForFirst[1]) {
-            placeHorizontal(currentRow, horizontalScoreArrayForFirst[0], word, board);
-            placedWordsMetadata.add(
-                new NewWord(
-                    word,
-                    true,
-                    List.of(currentRow, currentColumn),
-                    List.of(currentRow, currentColumn + (word.length() - 1)),
-                    horizontalScoreArrayForFirst[1] * 2));
-            return horizontalScoreArrayForFirst[1] * 2;
-          } else {
-            placeVertical(verticalScoreArrayForFirst[0], currentColumn, word, board);
-            placedWordsMetadata.add(
-                new NewWord(
-                    word,
-                    false,
-                    List.of(currentRow, currentColumn),
-                    List.of(currentRow + (word.length() - 1), currentColumn),
-                    verticalScoreArrayForFirst[1] * 2));
-            return verticalScoreArrayForFirst[1] * 2;
-          }
-        }
+    /* Only the '*' cells and the tiles sharing a letter with the word can anchor it */
+    for (int cell : anchorIndex.anchorsOf(word, isPlaced(word))) {
+      int currentRow = cell / board.columns();
+      int currentColumn = cell % board.columns();
 
-        /* Adding a word when there is at least one word on the board */
-        if (String.valueOf(board[currentRow][currentColumn]).matches(smallLettersRegex)
-            && commonLetterExists(word, currentRow, currentColumn)
-            && !placedWordsList.contains(word)) {
+      /* Adding first word */
+      if (board.letter(currentRow, currentColumn) == '*') {
+        candidatesEvaluated += 2;
 
-          /* Calculating the best placement for a word both horizontally and vertically */
-          int[] tempHorizontalScoreArray =
-              getBestHorizontalPlacementOnBoard(currentRow, currentColumn, word);
-          int[] tempVerticalScoreArray =
-              getBestVerticalPlacementOnBoard(currentRow, currentColumn, word);
-
-          if (horizontalScoreArray[2] <= tempHorizontalScoreArray[2]) {
-            horizontalScoreArray = tempHorizontalScoreArray;
-          }
+        int[] horizontalScoreArrayForFirst =
+            getBestPlacementForFirstWordOnBoard(currentRow, currentColumn, word, true);
+        int[] verticalScoreArrayForFirst =
+            getBestPlacementForFirstWordOnBoard(currentRow, currentColumn, word, false);
 
-          if (verticalScoreArray[2] <= tempVerticalScoreArray[2]) {
-            verticalScoreArray = tempVerticalScoreArray;
-          }
+        if (horizontalScoreArrayForFirst[1] >= verticalScoreArrayForFirst[1]) {
+          return PlacementCache.Placement.at(
+              true,
+              currentRow,
+              horizontalScoreArrayForFirst[0],
+              currentRow,
+              currentColumn,
+              horizontalScoreArrayForFirst[1] * 2,
+              true);
+        } else {
+          return PlacementCache.Placement.at(
+              false,
+              verticalScoreArrayForFirst[0],
+              currentColumn,
+              currentRow,
+              currentColumn,
+              verticalScoreArrayForFirst[1] * 2,
+              true);
         }
       }
+
+      /* Adding a word next to a tile, calculating the best placement in both directions */
+      candidatesEvaluated += 2;
+      int[] tempHorizontalScoreArray =
+          getBestHorizontalPlacementOnBoard(currentRow, currentColumn, word);
+      int[] tempVerticalScoreArray =
+          getBestVerticalPlacementOnBoard(currentRow, currentColumn, word);
+
+      if (horizontalScoreArray[2] <= tempHorizontalScoreArray[2]) {
+        horizontalScoreArray = tempHorizontalScoreArray;
+      }
+
+      if (verticalScoreArray[2] <= tempVerticalScoreArray[2]) {
+        verticalScoreArray = tempVerticalScoreArray;
+      }
     }
 
-    /* If we did not find any best placements, check for cross-placement */
     if (horizontalScoreArray[2] == -1 && verticalScoreArray[2] == -1) {
-      return checkCrossWord(word);
+      return PlacementCache.Placement.crossWord();
     }
 
-    /* When we find the placement */
-    if (horizontalScoreArray[2] >= verticalScoreArray[2]) {
-      /* If the horizontal placement was best of two, we place the word and add to the list */
-      bestScore = horizontalScoreArray[2];
-      placeHorizontal(horizontalScoreArray[0], horizontalScoreArray[1], word, board);
-      placedWordsMetadata.add(
-          new NewWord(
-              word,
-              true,
-              List.of(horizontalScoreArray[0], horizontalScoreArray[1]),
-              List.of(horizontalScoreArray[0], horizontalScoreArray[1] + (word.length() - 1)),
-              horizontalScoreArray[2]));
+    /* When we find the placement, the better of the two directions wins */
+    int[] bestScoreArray =
+        horizontalScoreArray[2] >= verticalScoreArray[2]
+            ? horizontalScoreArray
+            : verticalScoreArray;
+    return PlacementCache.Placement.at(
+        bestScoreArray == horizontalScoreArray,
+        bestScoreArray[0],
+        bestScoreArray[1],
+        bestScoreArray[0],
+        bestScoreArray[1],
+        bestScoreArray[2],
+        bestScoreArray[2] == 0);
+  }
+
+  /**
+   * Places the word found by the scan on the board and records it in the placements
+   *
+   * @param word the word to be placed
+   * @param placement where the word goes
+   * @return score of the word
+   */
+  private int commit(String word, PlacementCache.Placement placement) {
+    if (placement.horizontal) {
+      commitHorizontal(placement.row, placement.column, word);
     } else {
-      /* If the vertical placement was best of two, we place the word and add to the list */
-      bestScore = verticalScoreArray[2];
-      placeVertical(verticalScoreArray[0], verticalScoreArray[1], word, board);
-      placedWordsMetadata.add(
-          new NewWord(
-              word,
-              false,
-              List.of(verticalScoreArray[0], verticalScoreArray[1]),
-              List.of(verticalScoreArray[0] + (word.length() - 1), verticalScoreArray[1]),
-              verticalScoreArray[2]));
+      commitVertical(placement.row, placement.column, word);
     }
-
-    return bestScore;
+    if (placement.unvalidated) {
+      trackUnvalidatedPlacement(placement.row, placement.column, word, placement.horizontal);
+    }
+    placements.add(
+        word, placement.horizontal, placement.startRow, placement.startColumn, placement.score);
+    return placement.score;
   }
 
   /**
@@ -188,7 +372,7 @@ public class PlaceWord {
 
     /* Boundary check */
     while (startIndex <= column
-        && (isHorizontal ? endIndex <= board[row].length : endIndex <= board.length)) {
+        && (isHorizontal ? endIndex <= board.columns() : endIndex <= board.rows())) {
 
       /* Calculating the best scores for horizontal and vertical positions */
       int currentScore =
@@ -220,20 +404,20 @@ public class PlaceWord {
     int[] horizontalScoreArray = {0, 0, -1};
 
     /* Overwriting Check */
-    if ((column > 1 && !String.valueOf(board[row][column - 1]).matches(smallLettersRegex))
-        && (column < board[row].length - 1
-            && !String.valueOf(board[row][column + 1]).matches(smallLettersRegex))) {
+    if ((column > 1 && !isTile(board.letter(row, column - 1)))
+        && (column < board.columns() - 1
+            && !isTile(board.letter(row, column + 1)))) {
 
       /* Boundary Check */
-      if (canWordFitHorizontally(word, column - word.indexOf(board[row][column]))) {
+      if (canWordFitHorizontally(word, column - word.indexOf(board.letter(row, column)))) {
 
         /* Getting Maximum Score */
         int currentScore =
-            calculateScoreOnBoard(row, column - word.indexOf(board[row][column]), word, true);
+            calculateScoreOnBoard(row, column - word.indexOf(board.letter(row, column)), word, true);
 
         if (horizontalScoreArray[2] <= currentScore) {
           horizontalScoreArray[0] = row;
-          horizontalScoreArray[1] = column - word.indexOf(board[row][column]);
+          horizontalScoreArray[1] = column - word.indexOf(board.letter(row, column));
           horizontalScoreArray[2] = currentScore;
         }
       }
@@ -259,19 +443,19 @@ public class PlaceWord {
     int[] verticalScoreArray = {0, 0, -1};
 
     /* Overwriting Check */
-    if ((row > 1 && !String.valueOf(board[row - 1][column]).matches(smallLettersRegex))
-        && (row < board.length - 1
-            && !String.valueOf(board[row + 1][column]).matches(smallLettersRegex))) {
+    if ((row > 1 && !isTile(board.letter(row - 1, column)))
+        && (row < board.rows() - 1
+            && !isTile(board.letter(row + 1, column)))) {
 
       /* Boundaries Check */
-      if (canWordFitVertically(word, row - word.indexOf(board[row][column]))) {
+      if (canWordFitVertically(word, row - word.indexOf(board.letter(row, column)))) {
 
         /* Getting Maximum Score */
         int currentScore =
-            calculateScoreOnBoard(row - word.indexOf(board[row][column]), column, word, false);
+            calculateScoreOnBoard(row - word.indexOf(board.letter(row, column)), column, word, false);
 
         if (verticalScoreArray[2] <= currentScore) {
-          verticalScoreArray[0] = row - word.indexOf(board[row][column]);
+          verticalScoreArray[0] = row - word.indexOf(board.letter(row, column));
           verticalScoreArray[1] = column;
           verticalScoreArray[2] = currentScore;
         }
@@ -293,27 +477,22 @@ public class PlaceWord {
    * @param column the column the word is placed in
    * @param word the word to be placed
    * @param isHorizontal is the direction of placement horizontal?
-   * @return the score after placement
+   * @return the score after placement, computed without allocating
    */
-  private int calculateScoreOnBoard(int row, int column, String word, boolean isHorizontal) {
+  int calculateScoreOnBoard(int row, int column, String word, boolean isHorizontal) {
     int score = 0;
     int wordMultiplier = 1; /* Initialize word multiplier */
 
     for (int i = 0; i < word.length(); i++) {
-      char letter = word.charAt(i);
-      int letterMultiplier =
-          isHorizontal
-              ? letterMultipliers[row][column + i]
-              : letterMultipliers[row + i][column]; /* Get letter multiplier for the cell */
+      /* One read gives the cell character and both multipliers */
+      int cell = isHorizontal ? board.packed(row, column + i) : board.packed(row + i, column);
+      char character = BoardState.letterOf(cell);
 
-      score += letterValueMap.get(letter) * letterMultiplier;
+      score += letterValues.valueOf(word.charAt(i)) * BoardState.letterMultiplierOf(cell);
 
-      /* Check for word multipliers (D and T) */
-      char cell = isHorizontal ? board[row][column + i] : board[row + i][column];
-      if (cell == 'D') {
-        wordMultiplier *= 2;
-      } else if (cell == 'T') {
-        wordMultiplier *= 3;
+      /* Word multipliers count on open premium cells only, the designated start is doubled apart */
+      if (!isTile(character) && character != '*') {
+        wordMultiplier *= BoardState.wordMultiplierOf(cell);
       }
     }
 
@@ -323,6 +502,141 @@ public class PlaceWord {
     return score;
   }
 
+  /**
+   * Placing the word horizontally on the live board, journaling the overwritten cells
+   *
+   * @param row row on board
+   * @param column column on board
+   * @param word word to be placed
+   */
+  private void commitHorizontal(int row, int column, String word) {
+    int cellMark = journal.cellCount();
+    for (int j = column, k = 0; k < word.length(); j++, k++) {
+      journal.record(row, j, board.letter(row, j));
+    }
+    placeHorizontal(row, column, word, board);
+    for (int j = column; j < column + word.length(); j++) {
+      crossChecks.cellChanged(row, j);
+      anchorIndex.cellChanged(row, j);
+    }
+    augmentedScore += formedWordsScore(row, column, word, true, cellMark);
+  }
+
+  /**
+   * Placing the word vertically on the live board, journaling the overwritten cells
+   *
+   * @param row row on board
+   * @param column column on board
+   * @param word word to be placed
+   */
+  private void commitVertical(int row, int column, String word) {
+    int cellMark = journal.cellCount();
+    for (int i = row, k = 0; k < word.length(); i++, k++) {
+      journal.record(i, column, board.letter(i, column));
+    }
+    placeVertical(row, column, word, board);
+    for (int i = row; i < row + word.length(); i++) {
+      crossChecks.cellChanged(i, column);
+      anchorIndex.cellChanged(i, column);
+    }
+    augmentedScore += formedWordsScore(row, column, word, false, cellMark);
+  }
+
+  /**
+   * Scores the augmented words a committed placement creates or extends: the perpendicular runs
+   * through the letters it put on empty cells, and its own run when it joins tiles along its line.
+   * Runs that are not dictionary words, left by unvalidated placements, and words of the solve are
+   * not scored.
+   *
+   * @param row row of the first letter
+   * @param column column of the first letter
+   * @param word the committed word
+   * @param isHorizontal true for horizontal placement
+   * @param cellMark index of the first journal cell of the placement
+   * @return score of the augmented words
+   */
+  private int formedWordsScore(
+      int row, int column, String word, boolean isHorizontal, int cellMark) {
+    int score = runScore(row, column, isHorizontal, word.length() + 1);
+    for (int i = cellMark; i < journal.cellCount(); i++) {
+      if (!isTile(journal.previousLetterAt(i))) {
+        score += runScore(journal.rowAt(i), journal.columnAt(i), !isHorizontal, 2);
+      }
+    }
+    return score;
+  }
+
+  /**
+   * @param row row of a tile
+   * @param column column of the tile
+   * @param isHorizontal true for the run along the row, false for the run along the column
+   * @param minLength shortest run scored
+   * @return score of the run of tiles through the cell if it is an augmented word, 0 otherwise
+   */
+  private int runScore(int row, int column, boolean isHorizontal, int minLength) {
+    int lineLength = isHorizontal ? board.columns() : board.rows();
+    int first = isHorizontal ? column : row;
+    int last = first;
+    while (first > 0 && isTile(cellOnLine(board, row, column, isHorizontal, first - 1))) {
+      first--;
+    }
+    while (last < lineLength - 1
+        && isTile(cellOnLine(board, row, column, isHorizontal, last + 1))) {
+      last++;
+    }
+    if (last - first + 1 < minLength) {
+      return 0;
+    }
+
+    int score = 0;
+    for (int position = first; position <= last; position++) {
+      score += letterValues.valueOf(cellOnLine(board, row, column, isHorizontal, position));
+    }
+    if (!isRunWord(board, row, column, isHorizontal, first, last + 1)
+        || isSolveWord(row, column, isHorizontal, first, last + 1)) {
+      return 0;
+    }
+    return score;
+  }
+
+  /**
+   * Walks the dictionary over the cells of a run, without copying its letters
+   *
+   * @param grid the board
+   * @param row a row of the line
+   * @param column a column of the line
+   * @param isHorizontal true if the line is the row
+   * @param from position of the first cell of the run along the line
+   * @param to position after the last cell of the run
+   * @return true if the run is a dictionary word
+   */
+  private boolean isRunWord(
+      BoardState grid, int row, int column, boolean isHorizontal, int from, int to) {
+    int node = dictionary.root();
+    for (int position = from; position < to && node != WordDictionary.NONE; position++) {
+      node = dictionary.child(node, cellOnLine(grid, row, column, isHorizontal, position));
+    }
+    return dictionary.isWord(node);
+  }
+
+  /* Whether the run of the board between from and to is one of the few words of the solve */
+  private boolean isSolveWord(int row, int column, boolean isHorizontal, int from, int to) {
+    for (String word : solveWords) {
+      if (word.length() != to - from) {
+        continue;
+      }
+      int k = 0;
+      while (k < word.length()
+          && word.charAt(k) == cellOnLine(board, row, column, isHorizontal, from + k)) {
+        k++;
+      }
+      if (k == word.length()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   /**
    * Placing the word horizontally on the board
    *
@@ -330,9 +644,9 @@ public class PlaceWord {
    * @param column column on board
    * @param word word to be placed
    */
-  private void placeHorizontal(int row, int column, String word, char[][] board) {
+  private void placeHorizontal(int row, int column, String word, BoardState board) {
     for (int j = column, k = 0; k < word.length(); j++, k++) {
-      board[row][j] = word.charAt(k);
+      board.setLetter(row, j, word.charAt(k));
     }
   }
 
@@ -343,9 +657,9 @@ public class PlaceWord {
    * @param column column on board
    * @param word word to be placed
    */
-  private void placeVertical(int row, int column, String word, char[][] board) {
+  private void placeVertical(int row, int column, String word, BoardState board) {
     for (int i = row, k = 0; k < word.length(); i++, k++) {
-      board[i][column] = word.charAt(k);
+      board.setLetter(i, column, word.charAt(k));
     }
   }
 
@@ -358,54 +672,181 @@ public class PlaceWord {
    * @return true if placement is invalid
    */
   private boolean isWordPlacementInvalid(String word, int[] scoreArray, boolean isHorizontal) {
-    char[][] cloneBoard = cloneBoard();
+    validations++;
+    if (!isRecording) {
+      return isCandidateInvalid(word, scoreArray, isHorizontal);
+    }
+    long start = System.nanoTime();
+    boolean isInvalid = isCandidateInvalid(word, scoreArray, isHorizontal);
+    PlacementMetrics.recordValidation(System.nanoTime() - start);
+    return isInvalid;
+  }
 
-    if (isHorizontal) {
-      placeHorizontal(scoreArray[0], scoreArray[1], word, cloneBoard);
-    } else {
-      placeVertical(scoreArray[0], scoreArray[1], word, cloneBoard);
+  /* Body of isWordPlacementInvalid, reporting nothing */
+  private boolean isCandidateInvalid(String word, int[] scoreArray, boolean isHorizontal) {
+    /* A letter outside the cross-check mask of its cell forms an invalid perpendicular word */
+    if (isWithinBoard(word, scoreArray[0], scoreArray[1], isHorizontal)
+        && !crossChecks.allows(word, scoreArray[0], scoreArray[1], isHorizontal)) {
+      return true;
     }
 
-    int cloneRows = cloneBoard.length;
-    int cloneColumns = cloneBoard[0].length;
+    /* The candidate is validated on the live board and taken back before anything else reads it */
+    try {
+      overlay.lay(scoreArray[0], scoreArray[1], word, isHorizontal);
 
-    for (int i = 0; i < cloneRows; i++) {
-      /* Check words formed from rows */
-      String rowString = new String(cloneBoard[i]);
-      Pattern pattern = Pattern.compile("[a-z]+");
-      Matcher matcher = pattern.matcher(rowString);
+      /* An invalid word left by an unvalidated placement can only be seen by scanning every line */
+      if (invalidPlacements > 0 && isAnyLineInvalid(board)) {
+        return true;
+      }
 
-      while (matcher.find()) {
-        String formedWord = matcher.group();
-        if (formedWord.length() >= 2 && !dictionarySet.contains(formedWord)) {
-          return true;
-        }
-        validAugmentedWords.add(
-            formedWord); /* Adding the valid-formed words alongside so that we can calculate score for augmented words */
+      if (isPlacementInvalid(board, scoreArray[0], scoreArray[1], word, isHorizontal)) {
+        return true;
+      }
+    } finally {
+      overlay.discard();
+    }
+    return false;
+  }
+
+  /**
+   * Checks the words formed by a word already placed on the given grid. On a board without invalid
+   * words, only the line of the word and the perpendicular lines through its letters can hold one.
+   *
+   * @param grid the board holding the word
+   * @param row row of the first letter
+   * @param column column of the first letter
+   * @param word the placed word
+   * @param isHorizontal true for horizontal placement
+   * @return true if one of the words is not in the dictionary
+   */
+  private boolean isPlacementInvalid(
+      BoardState grid, int row, int column, String word, boolean isHorizontal) {
+    if (isLineInvalid(grid, row, column, word.length(), isHorizontal)) {
+      return true;
+    }
+
+    for (int k = 0; k < word.length(); k++) {
+      int i = isHorizontal ? row : row + k;
+      int j = isHorizontal ? column + k : column;
+      if (isLineInvalid(grid, i, j, 1, !isHorizontal)) {
+        return true;
       }
+    }
+    return false;
+  }
 
-      /* Check words formed from columns */
-      char[] column = new char[cloneColumns];
-      for (int j = 0; j < cloneColumns; j++) {
-        column[j] = cloneBoard[j][i];
+  /**
+   * Checks every row and every column of the given grid
+   *
+   * @param grid the board to check
+   * @return true if one of the words on the board is not in the dictionary
+   */
+  private boolean isAnyLineInvalid(BoardState grid) {
+    for (int i = 0; i < grid.rows(); i++) {
+      if (isLineInvalid(grid, i, 0, grid.columns(), true)) {
+        return true;
       }
-      String colString = new String(column);
-      pattern = Pattern.compile("[a-z]+");
-      matcher = pattern.matcher(colString);
+    }
+    for (int j = 0; j < grid.columns(); j++) {
+      if (isLineInvalid(grid, 0, j, grid.rows(), false)) {
+        return true;
+      }
+    }
+    return false;
+  }
 
-      while (matcher.find()) {
-        String formedWord = matcher.group();
-        if (formedWord.length() >= 2 && !dictionarySet.contains(formedWord)) {
+  /**
+   * Records a placement committed without validation if it left an invalid word on the board, so
+   * that later validations fall back to scanning the whole board
+   *
+   * @param row row of the first letter
+   * @param column column of the first letter
+   * @param word the placed word
+   * @param isHorizontal true for horizontal placement
+   */
+  private void trackUnvalidatedPlacement(int row, int column, String word, boolean isHorizontal) {
+    if (isPlacementInvalid(board, row, column, word, isHorizontal)) {
+      invalidPlacements++;
+    }
+  }
+
+  /**
+   * Checks the runs of letters of one line that overlap the given cells
+   *
+   * @param grid the board to check
+   * @param row row of the first cell
+   * @param column column of the first cell
+   * @param length number of cells along the line
+   * @param isHorizontal true to check the row, false to check the column
+   * @return true if one of the runs is not in the dictionary
+   */
+  private boolean isLineInvalid(
+      BoardState grid, int row, int column, int length, boolean isHorizontal) {
+    int lineLength = isHorizontal ? grid.columns() : grid.rows();
+    int first = isHorizontal ? column : row;
+    int last = first + length - 1;
+
+    /* Extending to the runs touching the cells on either side */
+    while (first > 0 && isTile(cellOnLine(grid, row, column, isHorizontal, first - 1))) {
+      first--;
+    }
+    while (last < lineLength - 1 && isTile(cellOnLine(grid, row, column, isHorizontal, last + 1))) {
+      last++;
+    }
+
+    int runStart = -1;
+    for (int position = first; position <= last + 1; position++) {
+      boolean tile =
+          position <= last && isTile(cellOnLine(grid, row, column, isHorizontal, position));
+      if (tile && runStart < 0) {
+        runStart = position;
+      } else if (!tile && runStart >= 0) {
+        if (position - runStart >= 2
+            && !isRunWord(grid, row, column, isHorizontal, runStart, position)) {
           return true;
         }
-        validAugmentedWords.add(
-            formedWord); /* Adding the valid-formed words alongside so that we can calculate score for augmented words */
+        runStart = -1;
       }
     }
-
     return false;
   }
 
+  /**
+   * @param grid the board
+   * @param row a row of the line
+   * @param column a column of the line
+   * @param isHorizontal true if the line is the row
+   * @param position position along the line
+   * @return the cell at the given position of the line
+   */
+  private static char cellOnLine(
+      BoardState grid, int row, int column, boolean isHorizontal, int position) {
+    return isHorizontal ? grid.letter(row, position) : grid.letter(position, column);
+  }
+
+  /**
+   * @param character the character
+   * @return true if the character is a letter placed on the board
+   */
+  private static boolean isTile(char character) {
+    return character >= 'a' && character <= 'z';
+  }
+
+  /**
+   * Checks if every letter of the word lies on the board
+   *
+   * @param word the word
+   * @param row row of the first letter
+   * @param column column of the first letter
+   * @param isHorizontal true for horizontal placement
+   * @return true if the word lies on the board
+   */
+  private boolean isWithinBoard(String word, int row, int column, boolean isHorizontal) {
+    int lastRow = isHorizontal ? row : row + word.length() - 1;
+    int lastColumn = isHorizontal ? column + word.length() - 1 : column;
+    return row >= 0 && column >= 0 && lastRow < board.rows() && lastColumn < board.columns();
+  }
+
   /**
    * Checks if word can fit horizontally on board
    *
@@ -414,7 +855,7 @@ public class PlaceWord {
    * @return true if word can fit else false
    */
   private boolean canWordFitHorizontally(String word, int column) {
-    return column > 0 && column + (word.length() - 1) < board[column].length;
+    return column > 0 && column + (word.length() - 1) < board.columns();
   }
 
   /**
@@ -425,7 +866,7 @@ public class PlaceWord {
    * @return true if word can fit else false
    */
   private boolean canWordFitVertically(String word, int row) {
-    return row > 0 && row + (word.length() - 1) < board.length;
+    return row > 0 && row + (word.length() - 1) < board.rows();
   }
 
   /**
@@ -440,71 +881,67 @@ public class PlaceWord {
     boolean isValidPlacement;
 
     wordsWhichArePlaced:
-    for (String placedWordsOnBoard : placedWordsList) {
+    for (int placed = 0; placed < placements.size(); placed++) {
+      String placedWordsOnBoard = placements.word(placed);
+      /* Getting the metadata of the first placement of the word */
+      int slot = placements.slotOf(placedWordsOnBoard);
+      boolean isPlacedHorizontally = placements.isHorizontal(slot);
+
+      /* Walking the placed word once lets every postfix check follow a single extra edge */
+      int placedWordNode = dictionary.walk(dictionary.root(), placedWordsOnBoard);
 
       wordToBePlaced:
       for (int i = 0; i < word.toCharArray().length; i++) {
 
-        String pre = prefix(word.charAt(i), placedWordsOnBoard); /* Adding character at the start */
-        String post = postfix(word.charAt(i), placedWordsOnBoard); /* Adding character at the end */
-
-        /* Getting the placed word and their metadata */
-        NewWord newWord = placedWordsMetadata.get(placedWordsList.indexOf(placedWordsOnBoard));
+        /* Adding character at the start */
+        boolean pre =
+            dictionary.isWord(
+                dictionary.walk(
+                    dictionary.child(dictionary.root(), word.charAt(i)), placedWordsOnBoard));
+        /* Adding character at the end */
+        boolean post = dictionary.isWord(dictionary.child(placedWordNode, word.charAt(i)));
 
         /* If the word exists in the dictionary */
-        if (dictionarySet.contains(pre)) {
-          if (newWord.isHorizontal()) {
+        if (pre) {
+          if (isPlacedHorizontally) {
             /* If the placed word is horizontally placed, placing the current word cross to it in vertical direction */
-            row = newWord.getStartIndex().get(0) - i;
-            column = newWord.getStartIndex().get(1) - 1;
+            row = placements.startRow(slot) - i;
+            column = placements.startColumn(slot) - 1;
           } else {
-            row = newWord.getStartIndex().get(0) + 1;
-            column = newWord.getStartIndex().get(1) - i;
+            row = placements.startRow(slot) + 1;
+            column = placements.startColumn(slot) - i;
           }
         }
-        if (dictionarySet.contains(post)) {
-          if (newWord.isHorizontal()) {
-            row = newWord.getEndIndex().get(0) - i;
-            column = newWord.getEndIndex().get(1) + 1;
+        if (post) {
+          if (isPlacedHorizontally) {
+            row = placements.endRow(slot) - i;
+            column = placements.endColumn(slot) + 1;
           } else {
-            row = newWord.getEndIndex().get(0) + 1;
-            column = newWord.getEndIndex().get(1) - i;
+            row = placements.endRow(slot) + 1;
+            column = placements.endColumn(slot) - i;
           }
         }
 
         if (row > 0 && column > 0) {
           /* Checking if the cross-placement is within the boundaries and not overwriting the existing words on board */
           isValidPlacement =
-              newWord.isHorizontal()
+              isPlacedHorizontally
                   ? isCrossWithinVerticalLimits(word, row, column)
                   : isCrossWithinHorizontalLimits(word, row, column);
 
           if (isValidPlacement) {
-            /* Getting score of the cross placed word, placing it on the board and later adding it to the placedWordsMetadata array */
-            int score = calculateScoreOnBoard(row, column, word, !newWord.isHorizontal());
+            /* Getting score of the cross placed word, placing it on the board and later adding it to the placements */
+            int score = calculateScoreOnBoard(row, column, word, !isPlacedHorizontally);
             if (isWordPlacementInvalid(
-                word, new int[] {row, column, score}, !newWord.isHorizontal())) {
+                word, new int[] {row, column, score}, !isPlacedHorizontally)) {
               return UNSOLVED;
             }
-            if (newWord.isHorizontal()) {
-              placeVertical(row, column, word, board);
-              placedWordsMetadata.add(
-                  new NewWord(
-                      word,
-                      false,
-                      List.of(row, column),
-                      List.of(row + (word.length() - 1), column),
-                      score));
+            if (isPlacedHorizontally) {
+              commitVertical(row, column, word);
             } else {
-              placeHorizontal(row, column, word, board);
-              placedWordsMetadata.add(
-                  new NewWord(
-                      word,
-                      true,
-                      List.of(row, column),
-                      List.of(row, column + (word.length() - 1)),
-                      score));
+              commitHorizontal(row, column, word);
             }
+            placements.add(word, !isPlacedHorizontally, row, column, score);
             return score;
           }
         }
@@ -515,16 +952,6 @@ public class PlaceWord {
     return UNSOLVED;
   }
 
-  /* Cloning the original board. Useful when we need to check if the word placement is valid or not and fulfills all the constraint */
-  private char[][] cloneBoard() {
-    char[][] clonedBoard = new char[board.length][board[0].length];
-    for (int i = 0; i < clonedBoard.length; i++) {
-      System.arraycopy(board[i], 0, clonedBoard[i], 0, clonedBoard[i].length);
-    }
-
-    return clonedBoard;
-  }
-
   /**
    * Check if the word is in the dictionary or not
    *
@@ -532,41 +959,7 @@ public class PlaceWord {
    * @return true if word is found
    */
   private boolean isWordInDictionary(String word) {
-    return dictionarySet.contains(word);
-  }
-
-  /**
-   * Checks for a common letter in the list of words which are placed
-   *
-   * @param word the word
-   * @param row the row
-   * @param column the column
-   * @return true if a common letter is found
-   */
-  private boolean commonLetterExists(String word, int row, int column) {
-    return word.contains(String.valueOf(board[row][column]));
-  }
-
-  /**
-   * Adding prefix character to a word
-   *
-   * @param startCharacter start character to be prefixed
-   * @param word the word
-   * @return prefixed word
-   */
-  private String prefix(char startCharacter, String word) {
-    return startCharacter + word;
-  }
-
-  /**
-   * Adding postfix character to a word
-   *
-   * @param endCharacter end character to be postfix
-   * @param word the word
-   * @return postfix word
-   */
-  private String postfix(char endCharacter, String word) {
-    return word + endCharacter;
+    return dictionary.contains(word);
   }
 
   /**
@@ -579,10 +972,10 @@ public class PlaceWord {
    */
   private boolean isCrossWithinHorizontalLimits(String word, int row, int column) {
     /* Checking if within the limit */
-    if (board[row].length >= (column + word.length())) {
+    if (row < board.rows() && board.columns() >= (column + word.length())) {
       /* Checking if the cells are empty */
       for (int j = column, k = 0; k < word.length(); j++, k++) {
-        if (String.valueOf(board[row][j]).matches(smallLettersRegex)) {
+        if (isTile(board.letter(row, j))) {
           return false;
         }
       }
@@ -601,10 +994,10 @@ public class PlaceWord {
    */
   private boolean isCrossWithinVerticalLimits(String word, int row, int column) {
     /* Checking if within the limit */
-    if (board.length >= (row + word.length())) {
+    if (column < board.columns() && board.rows() >= (row + word.length())) {
       /* Checking if the cells are empty */
       for (int j = row, k = 0; k < word.length(); j++, k++) {
-        if (String.valueOf(board[j][column]).matches(smallLettersRegex)) {
+        if (isTile(board.letter(j, column))) {
           return false;
         }
       }
@@ -612,18 +1005,4 @@ public class PlaceWord {
     }
     return false;
   }
-
-  /* Calculating the score for augmented words */
-  private int calculateAugmentedScore() {
-    int score = 0;
-    for (String word : validAugmentedWords) {
-      if (word.length() > 1 && !placedWordsList.contains(word)) {
-        for (char character : word.toCharArray()) {
-          score += letterValueMap.get(character);
-        }
-      }
-    }
-
-    return score;
-  }
 }
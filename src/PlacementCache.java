@@ -0,0 +1,235 @@
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of the best placement of a word on a board, shared by every {@link PlaceWord} that
+ * is given it, across requests and threads. Entries are keyed by the Zobrist hash and size of the
+ * board, the word, and the identities of the dictionary and the letter values, and evicted least
+ * recently used first. The cache is split into independently locked segments.
+ */
+public class PlacementCache {
+  private static final int SEGMENTS = 16;
+  private static final AtomicLong nextId = new AtomicLong();
+  private static final Map<Object, Long> ids = new WeakHashMap<>();
+
+  private final Segment[] segments = new Segment[SEGMENTS];
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  /**
+   * @param capacity maximum number of placements kept
+   */
+  public PlacementCache(int capacity) {
+    if (capacity < SEGMENTS) {
+      throw new IllegalArgumentException("Capacity must be at least " + SEGMENTS + ": " + capacity);
+    }
+    for (int i = 0; i < SEGMENTS; i++) {
+      segments[i] = new Segment(capacity / SEGMENTS);
+    }
+  }
+
+  /**
+   * Identity of a dictionary or letter value table, unique for the life of the object
+   *
+   * @param resource the dictionary or letter values
+   * @return the id
+   */
+  static long idOf(Object resource) {
+    synchronized (ids) {
+      return ids.computeIfAbsent(resource, key -> nextId.incrementAndGet());
+    }
+  }
+
+  /**
+   * @param board the board before the word is placed
+   * @param word the word
+   * @param dictionaryId id of the dictionary
+   * @param valuesId id of the letter values
+   * @return the cached placement, or null on a miss
+   */
+  Placement get(BoardState board, String word, long dictionaryId, long valuesId) {
+    Key key = new Key(board, word, dictionaryId, valuesId);
+    Placement placement = segmentOf(key).get(key);
+    if (placement == null) {
+      misses.increment();
+    } else {
+      hits.increment();
+    }
+    return placement;
+  }
+
+  /**
+   * @param board the board before the word is placed
+   * @param word the word
+   * @param dictionaryId id of the dictionary
+   * @param valuesId id of the letter values
+   * @param placement the placement found on the board
+   */
+  void put(BoardState board, String word, long dictionaryId, long valuesId, Placement placement) {
+    Key key = new Key(board, word, dictionaryId, valuesId);
+    segmentOf(key).put(key, placement);
+  }
+
+  public long hits() {
+    return hits.sum();
+  }
+
+  public long misses() {
+    return misses.sum();
+  }
+
+  public long evictions() {
+    return evictions.sum();
+  }
+
+  /**
+   * @return number of placements currently cached
+   */
+  public int size() {
+    int size = 0;
+    for (Segment segment : segments) {
+      size += segment.size();
+    }
+    return size;
+  }
+
+  @Override
+  public String toString() {
+    return "hits="
+        + hits()
+        + " misses="
+        + misses()
+        + " evictions="
+        + evictions()
+        + " size="
+        + size();
+  }
+
+  private Segment segmentOf(Key key) {
+    return segments[(key.hashCode() & Integer.MAX_VALUE) % SEGMENTS];
+  }
+
+  /**
+   * Outcome of the board scan of {@link PlaceWord} for one word: either the placement to commit, or
+   * the fall back to the cross placement, which depends on the order of the placed words and is
+   * never cached itself.
+   */
+  static final class Placement {
+    final boolean crossWord; /* No placement found, the word goes through the cross placement */
+    final boolean horizontal;
+    final int row; /* First cell of the committed word */
+    final int column;
+    final int startRow; /* Start recorded in the word metadata */
+    final int startColumn;
+    final int score;
+    final boolean unvalidated; /* Committed without validating the words it forms */
+
+    private Placement(
+        boolean crossWord,
+        boolean horizontal,
+        int row,
+        int column,
+        int startRow,
+        int startColumn,
+        int score,
+        boolean unvalidated) {
+      this.crossWord = crossWord;
+      this.horizontal = horizontal;
+      this.row = row;
+      this.column = column;
+      this.startRow = startRow;
+      this.startColumn = startColumn;
+      this.score = score;
+      this.unvalidated = unvalidated;
+    }
+
+    static Placement crossWord() {
+      return new Placement(true, false, 0, 0, 0, 0, -1, false);
+    }
+
+    static Placement at(
+        boolean horizontal,
+        int row,
+        int column,
+        int startRow,
+        int startColumn,
+        int score,
+        boolean unvalidated) {
+      return new Placement(
+          false, horizontal, row, column, startRow, startColumn, score, unvalidated);
+    }
+  }
+
+  private static final class Key {
+    private final long boardHash;
+    private final int rows;
+    private final int columns;
+    private final String word;
+    private final long dictionaryId;
+    private final long valuesId;
+
+    private Key(BoardState board, String word, long dictionaryId, long valuesId) {
+      this.boardHash = board.zobristHash();
+      this.rows = board.rows();
+      this.columns = board.columns();
+      this.word = word;
+      this.dictionaryId = dictionaryId;
+      this.valuesId = valuesId;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (!(other instanceof Key)) {
+        return false;
+      }
+      Key key = (Key) other;
+      return boardHash == key.boardHash
+          && rows == key.rows
+          && columns == key.columns
+          && dictionaryId == key.dictionaryId
+          && valuesId == key.valuesId
+          && word.equals(key.word);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(boardHash, rows, columns, word, dictionaryId, valuesId);
+    }
+  }
+
+  /** Least recently used entries of one share of the keys */
+  private final class Segment {
+    private final Map<Key, Placement> entries;
+
+    private Segment(int capacity) {
+      entries =
+          new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Placement> eldest) {
+              if (size() > capacity) {
+                evictions.increment();
+                return true;
+              }
+              return false;
+            }
+          };
+    }
+
+    private synchronized Placement get(Key key) {
+      return entries.get(key);
+    }
+
+    private synchronized void put(Key key, Placement placement) {
+      entries.put(key, placement);
+    }
+
+    private synchronized int size() {
+      return entries.size();
+    }
+  }
+}
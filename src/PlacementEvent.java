@@ -0,0 +1,29 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Flight Recorder event of one call to {@link PlaceWord#place(String)} */
+@Name("wordplacement.Placement")
+@Label("Word Placement")
+@Category("Word Placement")
+@Description("Placement of one word at its best position on the board")
+@StackTrace(false)
+class PlacementEvent extends jdk.jfr.Event {
+  @Label("Word")
+  String word;
+
+  @Label("Score")
+  @Description("Score of the word, -1 when it could not be placed")
+  int score;
+
+  @Label("Candidates Evaluated")
+  int candidates;
+
+  @Label("Validations")
+  int validations;
+
+  @Label("Cross Word Fallback")
+  boolean crossWord;
+}
@@ -0,0 +1,154 @@
+import java.util.Arrays;
+
+/**
+ * Undo journal for {@link PlaceWord}. Every committed placement opens a frame that remembers the
+ * sizes of the word lists and the counters of the engine before the placement, and the previous
+ * letter of every board cell the placement overwrote, so that the placement can be taken back
+ * without rebuilding the board.
+ */
+public class PlacementJournal {
+  /* Values remembered per frame: { placedWords, placements, augmentedScore, invalidPlacements } */
+  private static final int MARKS_PER_FRAME = 4;
+
+  private int[] cellRows = new int[64];
+  private int[] cellColumns = new int[64];
+  private char[] previousLetters = new char[64];
+  private int cellCount;
+
+  private int[] frameCellStarts = new int[16];
+  private int[] frameMarks = new int[16 * MARKS_PER_FRAME];
+  private int frameCount;
+
+  /**
+   * Opens a new frame
+   *
+   * @param placedWords size of the placed words list
+   * @param placements size of the placement store
+   * @param augmentedScore score of the augmented words
+   * @param invalidPlacements number of unvalidated placements that formed invalid words
+   */
+  public void beginFrame(
+      int placedWords, int placements, int augmentedScore, int invalidPlacements) {
+    if (frameCount == frameCellStarts.length) {
+      frameCellStarts = Arrays.copyOf(frameCellStarts, frameCount * 2);
+      frameMarks = Arrays.copyOf(frameMarks, frameCount * 2 * MARKS_PER_FRAME);
+    }
+    frameCellStarts[frameCount] = cellCount;
+    frameMarks[frameCount * MARKS_PER_FRAME] = placedWords;
+    frameMarks[frameCount * MARKS_PER_FRAME + 1] = placements;
+    frameMarks[frameCount * MARKS_PER_FRAME + 2] = augmentedScore;
+    frameMarks[frameCount * MARKS_PER_FRAME + 3] = invalidPlacements;
+    frameCount++;
+  }
+
+  /**
+   * Records the letter of a cell before it gets overwritten
+   *
+   * @param row the row
+   * @param column the column
+   * @param previous the letter currently in the cell
+   */
+  public void record(int row, int column, char previous) {
+    if (cellCount == cellRows.length) {
+      cellRows = Arrays.copyOf(cellRows, cellCount * 2);
+      cellColumns = Arrays.copyOf(cellColumns, cellCount * 2);
+      previousLetters = Arrays.copyOf(previousLetters, cellCount * 2);
+    }
+    cellRows[cellCount] = row;
+    cellColumns[cellCount] = column;
+    previousLetters[cellCount] = previous;
+    cellCount++;
+  }
+
+  /**
+   * @return true if there is no frame to roll back
+   */
+  public boolean isEmpty() {
+    return frameCount == 0;
+  }
+
+  /**
+   * @return size of the placed words list when the last frame was opened
+   */
+  public int placedWordsMark() {
+    return frameMarks[(frameCount - 1) * MARKS_PER_FRAME];
+  }
+
+  /**
+   * @return size of the placement store when the last frame was opened
+   */
+  public int placementsMark() {
+    return frameMarks[(frameCount - 1) * MARKS_PER_FRAME + 1];
+  }
+
+  /**
+   * @return score of the augmented words when the last frame was opened
+   */
+  public int augmentedScoreMark() {
+    return frameMarks[(frameCount - 1) * MARKS_PER_FRAME + 2];
+  }
+
+  /**
+   * @return number of unvalidated placements that formed invalid words when the last frame was
+   *     opened
+   */
+  public int invalidPlacementsMark() {
+    return frameMarks[(frameCount - 1) * MARKS_PER_FRAME + 3];
+  }
+
+  /**
+   * @return index of the first cell recorded in the last frame
+   */
+  public int frameStart() {
+    return frameCellStarts[frameCount - 1];
+  }
+
+  /**
+   * @return number of cells recorded in all frames
+   */
+  public int cellCount() {
+    return cellCount;
+  }
+
+  /**
+   * @param index index of a recorded cell
+   * @return row of the cell
+   */
+  public int rowAt(int index) {
+    return cellRows[index];
+  }
+
+  /**
+   * @param index index of a recorded cell
+   * @return column of the cell
+   */
+  public int columnAt(int index) {
+    return cellColumns[index];
+  }
+
+  /**
+   * @param index index of a recorded cell
+   * @return letter of the cell before it got overwritten
+   */
+  public char previousLetterAt(int index) {
+    return previousLetters[index];
+  }
+
+  /**
+   * Restores the cells recorded in the last frame, newest first. The frame stays open until {@link
+   * #dropFrame()} so that its cells can still be read.
+   *
+   * @param board the board to restore
+   */
+  public void restore(BoardState board) {
+    for (int i = cellCount - 1; i >= frameStart(); i--) {
+      board.setLetter(cellRows[i], cellColumns[i], previousLetters[i]);
+    }
+  }
+
+  /** Drops the last frame */
+  public void dropFrame() {
+    cellCount = frameStart();
+    frameCount--;
+  }
+}
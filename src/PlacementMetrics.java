@@ -0,0 +1,279 @@
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide counters and latency histograms of the placement engine and the solvers. Recording
+ * is off by default: the engine then only bumps a few plain int fields of its own, and reads the
+ * enabled flag once per placement. The same data is emitted as JDK Flight Recorder events, see
+ * {@link PlacementEvent}, {@link PermutationSearchEvent}, {@link SolveEvent} and {@link
+ * BoardResetEvent}, whenever a recording enables them, independently of this flag.
+ */
+public final class PlacementMetrics {
+  private static volatile boolean enabled = Boolean.getBoolean("wordplacement.metrics");
+
+  private static final LongAdder placements = new LongAdder();
+  private static final LongAdder candidatesEvaluated = new LongAdder();
+  private static final LongAdder validations = new LongAdder();
+  private static final LongAdder crossWordFallbacks = new LongAdder();
+  private static final LongAdder orderingsExplored = new LongAdder();
+  private static final LongAdder statesPruned = new LongAdder();
+  private static final LongAdder transpositionHits = new LongAdder();
+  private static final LongAdder transpositionMisses = new LongAdder();
+  private static final LongAdder solves = new LongAdder();
+  private static final LongAdder boardResets = new LongAdder();
+  private static final LatencyHistogram placementLatency = new LatencyHistogram();
+  private static final LatencyHistogram validationLatency = new LatencyHistogram();
+  private static final LatencyHistogram crossWordLatency = new LatencyHistogram();
+  private static final LatencyHistogram solveLatency = new LatencyHistogram();
+  private static final LatencyHistogram boardResetLatency = new LatencyHistogram();
+
+  private PlacementMetrics() {}
+
+  /** Starts recording, also enabled at startup by {@code -Dwordplacement.metrics=true} */
+  public static void enable() {
+    enabled = true;
+  }
+
+  /** Stops recording, keeping what was recorded so far */
+  public static void disable() {
+    enabled = false;
+  }
+
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  /** Forgets everything recorded so far */
+  public static void reset() {
+    for (LongAdder counter :
+        new LongAdder[] {
+          placements,
+          candidatesEvaluated,
+          validations,
+          crossWordFallbacks,
+          orderingsExplored,
+          statesPruned,
+          transpositionHits,
+          transpositionMisses,
+          solves,
+          boardResets
+        }) {
+      counter.reset();
+    }
+    for (LatencyHistogram histogram :
+        new LatencyHistogram[] {
+          placementLatency, validationLatency, crossWordLatency, solveLatency, boardResetLatency
+        }) {
+      histogram.reset();
+    }
+  }
+
+  /**
+   * @return what was recorded so far, not atomic with respect to concurrent recording
+   */
+  public static Snapshot snapshot() {
+    return new Snapshot();
+  }
+
+  /**
+   * Records one call to {@link PlaceWord#place(String)}
+   *
+   * @param nanos latency of the placement
+   * @param candidates candidate positions evaluated
+   * @param validationCount candidate placements validated
+   */
+  static void recordPlacement(long nanos, int candidates, int validationCount) {
+    placements.increment();
+    candidatesEvaluated.add(candidates);
+    validations.add(validationCount);
+    placementLatency.record(nanos);
+  }
+
+  /**
+   * @param nanos latency of one validation of a candidate placement
+   */
+  static void recordValidation(long nanos) {
+    validationLatency.record(nanos);
+  }
+
+  /**
+   * @param nanos latency of one fall back to the cross placement
+   */
+  static void recordCrossWord(long nanos) {
+    crossWordFallbacks.increment();
+    crossWordLatency.record(nanos);
+  }
+
+  /**
+   * @param orderings complete orderings placed by a permutation search
+   * @param pruned states pruned by its bounds
+   * @param tableHits states found in its transposition table
+   * @param tableMisses states looked up in its transposition table and not found
+   */
+  static void recordPermutationSearch(
+      long orderings, long pruned, long tableHits, long tableMisses) {
+    orderingsExplored.add(orderings);
+    statesPruned.add(pruned);
+    transpositionHits.add(tableHits);
+    transpositionMisses.add(tableMisses);
+  }
+
+  /**
+   * @param nanos latency of a solve, from the start of its search to its best ordering
+   */
+  static void recordSolve(long nanos) {
+    solves.increment();
+    solveLatency.record(nanos);
+  }
+
+  /**
+   * @param nanos latency of a reset of a board to the puzzle
+   */
+  static void recordBoardReset(long nanos) {
+    boardResets.increment();
+    boardResetLatency.record(nanos);
+  }
+
+  /** Immutable copy of the metrics */
+  public static final class Snapshot {
+    private final long placements = PlacementMetrics.placements.sum();
+    private final long candidatesEvaluated = PlacementMetrics.candidatesEvaluated.sum();
+    private final long validations = PlacementMetrics.validations.sum();
+    private final long crossWordFallbacks = PlacementMetrics.crossWordFallbacks.sum();
+    private final long orderingsExplored = PlacementMetrics.orderingsExplored.sum();
+    private final long statesPruned = PlacementMetrics.statesPruned.sum();
+    private final long transpositionHits = PlacementMetrics.transpositionHits.sum();
+    private final long transpositionMisses = PlacementMetrics.transpositionMisses.sum();
+    private final long solves = PlacementMetrics.solves.sum();
+    private final long boardResets = PlacementMetrics.boardResets.sum();
+    private final LatencyHistogram.Snapshot placementLatency =
+        PlacementMetrics.placementLatency.snapshot();
+    private final LatencyHistogram.Snapshot validationLatency =
+        PlacementMetrics.validationLatency.snapshot();
+    private final LatencyHistogram.Snapshot crossWordLatency =
+        PlacementMetrics.crossWordLatency.snapshot();
+    private final LatencyHistogram.Snapshot solveLatency = PlacementMetrics.solveLatency.snapshot();
+    private final LatencyHistogram.Snapshot boardResetLatency =
+        PlacementMetrics.boardResetLatency.snapshot();
+
+    private Snapshot() {}
+
+    /**
+     * @return calls to {@link PlaceWord#place(String)}
+     */
+    public long placements() {
+      return placements;
+    }
+
+    /**
+     * @return candidate positions evaluated by the placements
+     */
+    public long candidatesEvaluated() {
+      return candidatesEvaluated;
+    }
+
+    /**
+     * @return candidate placements checked for the words they form
+     */
+    public long validations() {
+      return validations;
+    }
+
+    /**
+     * @return placements that fell back to the cross placement
+     */
+    public long crossWordFallbacks() {
+      return crossWordFallbacks;
+    }
+
+    /**
+     * @return complete orderings placed by the permutation searches
+     */
+    public long orderingsExplored() {
+      return orderingsExplored;
+    }
+
+    /**
+     * @return states of the permutation searches pruned by their bounds
+     */
+    public long statesPruned() {
+      return statesPruned;
+    }
+
+    /**
+     * @return states of the permutation searches found in their transposition tables
+     */
+    public long transpositionHits() {
+      return transpositionHits;
+    }
+
+    /**
+     * @return states of the permutation searches looked up in their transposition tables and not
+     *     found
+     */
+    public long transpositionMisses() {
+      return transpositionMisses;
+    }
+
+    public long solves() {
+      return solves;
+    }
+
+    public long boardResets() {
+      return boardResets;
+    }
+
+    public LatencyHistogram.Snapshot placementLatency() {
+      return placementLatency;
+    }
+
+    public LatencyHistogram.Snapshot validationLatency() {
+      return validationLatency;
+    }
+
+    public LatencyHistogram.Snapshot crossWordLatency() {
+      return crossWordLatency;
+    }
+
+    public LatencyHistogram.Snapshot solveLatency() {
+      return solveLatency;
+    }
+
+    public LatencyHistogram.Snapshot boardResetLatency() {
+      return boardResetLatency;
+    }
+
+    @Override
+    public String toString() {
+      return "placements="
+          + placements
+          + " candidates="
+          + candidatesEvaluated
+          + " validations="
+          + validations
+          + " crossWordFallbacks="
+          + crossWordFallbacks
+          + " orderingsExplored="
+          + orderingsExplored
+          + " statesPruned="
+          + statesPruned
+          + " transpositionHits="
+          + transpositionHits
+          + " transpositionMisses="
+          + transpositionMisses
+          + " solves="
+          + solves
+          + " boardResets="
+          + boardResets
+          + "\n  placement: "
+          + placementLatency
+          + "\n  validation: "
+          + validationLatency
+          + "\n  crossWord: "
+          + crossWordLatency
+          + "\n  solve: "
+          + solveLatency
+          + "\n  boardReset: "
+          + boardResetLatency;
+    }
+  }
+}
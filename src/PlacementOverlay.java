@@ -0,0 +1,64 @@
+import java.util.Arrays;
+
+/**
+ * Speculative placement of a candidate word for {@link PlaceWord}: the letters are laid over the
+ * live board for the time of its validation and the overwritten letters are put back afterwards,
+ * instead of validating on a copy of the whole board. Only the letters of the word are saved, in a
+ * buffer reused across candidates, so a candidate costs no allocation proportional to the board.
+ */
+public class PlacementOverlay {
+  private final BoardState board;
+  private char[] previousLetters = new char[16];
+  private int row;
+  private int column;
+  private boolean isHorizontal;
+  private int laidCount; /* Letters laid so far, 0 when no candidate is laid */
+
+  /**
+   * @param board the live board the candidates are laid over
+   */
+  public PlacementOverlay(BoardState board) {
+    this.board = board;
+  }
+
+  /**
+   * Lays a candidate over the board. Letters are laid one at a time, so a candidate running off
+   * the board leaves the letters before the edge laid until {@link #discard()}.
+   *
+   * @param row row of the first letter
+   * @param column column of the first letter
+   * @param word the candidate word
+   * @param isHorizontal true for horizontal placement
+   */
+  public void lay(int row, int column, String word, boolean isHorizontal) {
+    if (laidCount > 0) {
+      throw new IllegalStateException("A candidate is already laid");
+    }
+    if (word.length() > previousLetters.length) {
+      previousLetters =
+          Arrays.copyOf(previousLetters, Math.max(word.length(), 2 * previousLetters.length));
+    }
+    this.row = row;
+    this.column = column;
+    this.isHorizontal = isHorizontal;
+
+    for (int k = 0; k < word.length(); k++) {
+      int i = isHorizontal ? row : row + k;
+      int j = isHorizontal ? column + k : column;
+      char previous = board.letter(i, j);
+      board.setLetter(i, j, word.charAt(k));
+      previousLetters[k] = previous;
+      laidCount++;
+    }
+  }
+
+  /** Puts back the letters the laid candidate overwrote, restoring the board and its hash */
+  public void discard() {
+    for (int k = laidCount - 1; k >= 0; k--) {
+      int i = isHorizontal ? row : row + k;
+      int j = isHorizontal ? column + k : column;
+      board.setLetter(i, j, previousLetters[k]);
+    }
+    laidCount = 0;
+  }
+}
@@ -0,0 +1,200 @@
+import java.util.Arrays;
+
+/**
+ * The placements made by a {@link PlaceWord}, one slot per placement in the order they were made,
+ * kept in parallel primitive arrays: the word, the recorded start cell, the direction, the length
+ * and the score. An open-addressing index maps each word to the slot of its first placement, so
+ * looking a placed word up takes constant time, and taking placements back only truncates the
+ * arrays.
+ */
+public class PlacementStore {
+  private static final int FREE = -1;
+
+  private String[] words = new String[16];
+  private int[] rows = new int[16];
+  private int[] columns = new int[16];
+  private boolean[] horizontals = new boolean[16];
+  private int[] lengths = new int[16];
+  private int[] scores = new int[16];
+  private int size;
+
+  private int[] index = newIndex(32); /* Slot of the first placement of each word, or FREE */
+
+  /**
+   * Records a placement
+   *
+   * @param word the placed word
+   * @param isHorizontal true for horizontal placement
+   * @param row row of the recorded start cell
+   * @param column column of the recorded start cell
+   * @param score score of the word
+   * @return the slot of the placement
+   */
+  public int add(String word, boolean isHorizontal, int row, int column, int score) {
+    if (size == words.length) {
+      int capacity = size * 2;
+      words = Arrays.copyOf(words, capacity);
+      rows = Arrays.copyOf(rows, capacity);
+      columns = Arrays.copyOf(columns, capacity);
+      horizontals = Arrays.copyOf(horizontals, capacity);
+      lengths = Arrays.copyOf(lengths, capacity);
+      scores = Arrays.copyOf(scores, capacity);
+    }
+    words[size] = word;
+    rows[size] = row;
+    columns[size] = column;
+    horizontals[size] = isHorizontal;
+    lengths[size] = word.length();
+    scores[size] = score;
+
+    if (slotOf(word) == FREE) {
+      if (2 * (size + 1) > index.length) {
+        rebuildIndex(index.length * 2);
+      }
+      insert(size);
+    }
+    return size++;
+  }
+
+  /**
+   * Takes back the placements made after the given number of placements, newest first
+   *
+   * @param newSize number of placements kept
+   */
+  public void truncate(int newSize) {
+    while (size > newSize) {
+      size--;
+      if (slotOf(words[size]) == size) {
+        remove(words[size]);
+      }
+      words[size] = null;
+    }
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @param word a word
+   * @return the slot of the first placement of the word, or -1 if it is not placed
+   */
+  public int slotOf(String word) {
+    int mask = index.length - 1;
+    for (int position = mix(word.hashCode()) & mask; ; position = (position + 1) & mask) {
+      int slot = index[position];
+      if (slot == FREE) {
+        return FREE;
+      }
+      if (words[slot].equals(word)) {
+        return slot;
+      }
+    }
+  }
+
+  /**
+   * @param word a word
+   * @return true if the word is placed
+   */
+  public boolean contains(String word) {
+    return slotOf(word) != FREE;
+  }
+
+  public String word(int slot) {
+    return words[slot];
+  }
+
+  public boolean isHorizontal(int slot) {
+    return horizontals[slot];
+  }
+
+  /**
+   * @param slot a slot
+   * @return row of the recorded start cell
+   */
+  public int startRow(int slot) {
+    return rows[slot];
+  }
+
+  /**
+   * @param slot a slot
+   * @return column of the recorded start cell
+   */
+  public int startColumn(int slot) {
+    return columns[slot];
+  }
+
+  /**
+   * @param slot a slot
+   * @return row of the last letter, counted from the recorded start cell
+   */
+  public int endRow(int slot) {
+    return horizontals[slot] ? rows[slot] : rows[slot] + lengths[slot] - 1;
+  }
+
+  /**
+   * @param slot a slot
+   * @return column of the last letter, counted from the recorded start cell
+   */
+  public int endColumn(int slot) {
+    return horizontals[slot] ? columns[slot] + lengths[slot] - 1 : columns[slot];
+  }
+
+  public int length(int slot) {
+    return lengths[slot];
+  }
+
+  public int score(int slot) {
+    return scores[slot];
+  }
+
+  /* Adds a slot to the index, its word not being indexed yet */
+  private void insert(int slot) {
+    int mask = index.length - 1;
+    int position = mix(words[slot].hashCode()) & mask;
+    while (index[position] != FREE) {
+      position = (position + 1) & mask;
+    }
+    index[position] = slot;
+  }
+
+  /* Removes an indexed word, shifting back the entries of its probe run */
+  private void remove(String word) {
+    int mask = index.length - 1;
+    int position = mix(word.hashCode()) & mask;
+    while (!words[index[position]].equals(word)) {
+      position = (position + 1) & mask;
+    }
+
+    int next = (position + 1) & mask;
+    while (index[next] != FREE) {
+      int home = mix(words[index[next]].hashCode()) & mask;
+      /* The entry may fill the hole unless its home lies cyclically between the hole and it */
+      if (((next - home) & mask) >= ((next - position) & mask)) {
+        index[position] = index[next];
+        position = next;
+      }
+      next = (next + 1) & mask;
+    }
+    index[position] = FREE;
+  }
+
+  private void rebuildIndex(int capacity) {
+    index = newIndex(capacity);
+    for (int slot = 0; slot < size; slot++) {
+      if (slotOf(words[slot]) == FREE) {
+        insert(slot);
+      }
+    }
+  }
+
+  private static int[] newIndex(int capacity) {
+    int[] table = new int[capacity];
+    Arrays.fill(table, FREE);
+    return table;
+  }
+
+  private static int mix(int hash) {
+    return hash ^ (hash >>> 16);
+  }
+}
@@ -0,0 +1,28 @@
+import java.io.IOException;
+
+/** Thrown when a puzzle breaks the puzzle rules, with the position of the first offending cell */
+public class PuzzleFormatException extends IOException {
+  private static final long serialVersionUID = 1L;
+
+  private final int line;
+  private final int column;
+
+  /**
+   * @param line line of the error, counted from 1
+   * @param column column of the error in the line as read, counted from 1
+   * @param reason what is wrong
+   */
+  public PuzzleFormatException(int line, int column, String reason) {
+    super("line " + line + ", column " + column + ": " + reason);
+    this.line = line;
+    this.column = column;
+  }
+
+  public int line() {
+    return line;
+  }
+
+  public int column() {
+    return column;
+  }
+}
@@ -0,0 +1,224 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Validates and parses a puzzle in a single pass over its characters, without building a string
+ * per line. Only the cells other than {@code '.'} are kept while reading, and the board is built
+ * once the size of the puzzle is known, so loading a large and mostly plain puzzle needs memory for
+ * its special cells only.
+ *
+ * <p>The rules are those the puzzle always had: the lines are trimmed and the trailing blank lines
+ * dropped, every row has the width of the first one, the cells are {@code '.'}, {@code 'D'},
+ * {@code 'T'}, digits other than {@code '0'} and exactly one {@code '*'}. The first broken rule is
+ * reported with its line and column.
+ */
+public final class PuzzleParser {
+  private static final int CHUNK = 8192;
+
+  private int line = 1; /* Line being read, counted from 1 */
+  private int column = 1; /* Column of the next character of the line, counted from 1 */
+  private boolean isAfterCarriageReturn; /* A '\n' right after a '\r' ends no line */
+
+  private int cellsInLine; /* Cells of the line being read */
+  private int spaceColumn; /* First blank after the cells of the line, 0 if none yet */
+  private char space;
+  private int firstBlankLine; /* First blank line after the start or a row, 0 if none yet */
+
+  private int width = -1; /* Cells per row, known after the first row */
+  private int rows;
+  private int startLine; /* Position of the '*', 0 until it is read */
+  private int startColumn;
+
+  private int specialCount; /* Cells other than '.', in reading order */
+  private int[] specialCells = new int[16]; /* row * width + column */
+  private char[] specialLetters = new char[16];
+
+  private PuzzleParser() {}
+
+  /**
+   * Reads a puzzle to its end, leaving the reader open
+   *
+   * @param reader the puzzle
+   * @return the template
+   * @throws PuzzleFormatException when the puzzle breaks a rule
+   * @throws IOException when there is an issue reading the puzzle
+   */
+  public static PuzzleTemplate parse(Reader reader) throws IOException {
+    PuzzleParser parser = new PuzzleParser();
+    char[] chunk = new char[CHUNK];
+    int length;
+    while ((length = reader.read(chunk)) != -1) {
+      parser.accept(chunk, length);
+    }
+    return parser.finish();
+  }
+
+  /**
+   * Reads a UTF-8 puzzle from the remaining bytes of a buffer, for example a mapped file, without
+   * moving the position of the buffer
+   *
+   * @param bytes the puzzle
+   * @return the template
+   * @throws PuzzleFormatException when the puzzle breaks a rule
+   * @throws IOException when the bytes are not valid UTF-8
+   */
+  public static PuzzleTemplate parse(ByteBuffer bytes) throws IOException {
+    PuzzleParser parser = new PuzzleParser();
+    CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder();
+    ByteBuffer input = bytes.duplicate();
+    CharBuffer chunk = CharBuffer.allocate(CHUNK);
+
+    CoderResult result;
+    do {
+      result = decoder.decode(input, chunk, true);
+      if (result.isError()) {
+        result.throwException();
+      }
+      parser.accept(chunk.array(), chunk.position());
+      chunk.clear();
+    } while (result.isOverflow());
+
+    decoder.flush(chunk);
+    parser.accept(chunk.array(), chunk.position());
+    return parser.finish();
+  }
+
+  /**
+   * Reads the next characters of the puzzle
+   *
+   * @param chunk the characters
+   * @param length number of characters to read from the start of the chunk
+   * @throws PuzzleFormatException when the characters break a rule
+   */
+  private void accept(char[] chunk, int length) throws PuzzleFormatException {
+    for (int k = 0; k < length; k++) {
+      char character = chunk[k];
+
+      if (isAfterCarriageReturn) {
+        isAfterCarriageReturn = false;
+        if (character == '\n') {
+          continue;
+        }
+      }
+      if (character == '\n' || character == '\r') {
+        endLine();
+        isAfterCarriageReturn = character == '\r';
+      } else if (character <= ' ') {
+        /* Blanks are trimmed, unless a cell follows them on the line */
+        if (cellsInLine > 0 && spaceColumn == 0) {
+          spaceColumn = column;
+          space = character;
+        }
+        column++;
+      } else {
+        acceptCell(character);
+        column++;
+      }
+    }
+  }
+
+  private void acceptCell(char character) throws PuzzleFormatException {
+    if (spaceColumn != 0) {
+      throw new PuzzleFormatException(line, spaceColumn, "Invalid character " + describe(space));
+    }
+    if (cellsInLine == 0 && firstBlankLine != 0) {
+      throw new PuzzleFormatException(firstBlankLine, 1, "Blank line before a row");
+    }
+    if (cellsInLine == width) {
+      throw new PuzzleFormatException(line, column, "Row longer than the first row, of " + width);
+    }
+
+    if (character == '*') {
+      if (startLine != 0) {
+        throw new PuzzleFormatException(
+            line,
+            column,
+            "Second start cell, the first is at line " + startLine + ", column " + startColumn);
+      }
+      startLine = line;
+      startColumn = column;
+    } else if (character == '0'
+        || (character != 'D'
+            && character != 'T'
+            && character != '.'
+            && !Character.isDigit(character))) {
+      throw new PuzzleFormatException(line, column, "Invalid character " + describe(character));
+    }
+
+    if (character != '.') {
+      addSpecial(character);
+    }
+    cellsInLine++;
+  }
+
+  private void endLine() throws PuzzleFormatException {
+    if (cellsInLine == 0) {
+      if (firstBlankLine == 0) {
+        firstBlankLine = line;
+      }
+    } else if (width == -1) {
+      width = cellsInLine;
+      rows++;
+    } else if (cellsInLine != width) {
+      int end = spaceColumn != 0 ? spaceColumn : column;
+      throw new PuzzleFormatException(line, end, "Row shorter than the first row, of " + width);
+    } else if ((long) (rows + 1) * width > Integer.MAX_VALUE) {
+      throw new PuzzleFormatException(line, 1, "More than " + Integer.MAX_VALUE + " cells");
+    } else {
+      rows++;
+    }
+
+    line++;
+    column = 1;
+    cellsInLine = 0;
+    spaceColumn = 0;
+  }
+
+  /**
+   * Ends the puzzle and builds its template
+   *
+   * @return the template
+   * @throws PuzzleFormatException when the puzzle breaks a rule
+   */
+  private PuzzleTemplate finish() throws PuzzleFormatException {
+    if (column > 1) {
+      endLine(); /* Last line without a line break */
+    }
+    if (rows == 0) {
+      throw new PuzzleFormatException(1, 1, "Empty puzzle");
+    }
+    if (startLine == 0) {
+      throw new PuzzleFormatException(line, 1, "No start cell");
+    }
+
+    /* The '.' cells are the fill of the board, so only the special cells are written */
+    BoardState board = new BoardState(rows, width, '.', 1, 1);
+    for (int k = 0; k < specialCount; k++) {
+      int cell = specialCells[k];
+      PuzzleTemplate.setPuzzleCell(board, cell / width, cell % width, specialLetters[k]);
+    }
+    return new PuzzleTemplate(board);
+  }
+
+  private void addSpecial(char character) {
+    if (specialCount == specialLetters.length) {
+      int capacity = specialCount + (specialCount >> 1);
+      specialCells = Arrays.copyOf(specialCells, capacity);
+      specialLetters = Arrays.copyOf(specialLetters, capacity);
+    }
+    /* The first row is at index 0 whatever the width, which is known only at its end */
+    specialCells[specialCount] = rows == 0 ? cellsInLine : rows * width + cellsInLine;
+    specialLetters[specialCount] = character;
+    specialCount++;
+  }
+
+  private static String describe(char character) {
+    return String.format("'%c' (U+%04X)", character, (int) character);
+  }
+}
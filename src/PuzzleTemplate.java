@@ -0,0 +1,117 @@
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Immutable starting state of a puzzle: the puzzle characters with their letter and word
+ * multipliers, parsed once when the board is loaded. Boards are reset to it by sharing its tiles
+ * instead of parsing the puzzle again; a board copies a tile only when it first writes to it.
+ */
+public final class PuzzleTemplate {
+  private final BoardState base; /* Never handed out, only copied */
+
+  /**
+   * @param base the starting board, no longer written once the template holds it
+   */
+  PuzzleTemplate(BoardState base) {
+    base.shareTiles();
+    this.base = base;
+  }
+
+  /**
+   * Reads and validates a puzzle, leaving the stream open. {@link PuzzleParser} also tells where an
+   * invalid puzzle breaks the rules.
+   *
+   * @param puzzleStream stream of puzzle
+   * @return the template, or null if the stream is not a valid puzzle
+   * @throws IOException when there is an issue reading the stream
+   */
+  public static PuzzleTemplate read(Reader puzzleStream) throws IOException {
+    try {
+      return PuzzleParser.parse(puzzleStream);
+    } catch (PuzzleFormatException invalidPuzzle) {
+      return null;
+    }
+  }
+
+  /**
+   * Parses a validated puzzle
+   *
+   * @param puzzleStream the rows of the puzzle, all of the same length, without trailing blanks
+   * @return the template
+   */
+  public static PuzzleTemplate parse(String[] puzzleStream) {
+    int numOfRows = puzzleStream.length;
+    int numOfColumns = puzzleStream[0].length();
+    /* The plain cells are left to the shared default tile, only the other cells get tiles */
+    BoardState board = new BoardState(numOfRows, numOfColumns, '.', 1, 1);
+
+    for (int i = 0; i < numOfRows; i++) {
+      String currentRow = puzzleStream[i];
+      for (int j = 0; j < numOfColumns; j++) {
+        setPuzzleCell(board, i, j, currentRow.charAt(j));
+      }
+    }
+    return new PuzzleTemplate(board);
+  }
+
+  /**
+   * Writes a puzzle character with the multipliers it stands for
+   *
+   * @param board the board being built
+   * @param row the row
+   * @param column the column
+   * @param currentCell a valid puzzle character
+   */
+  static void setPuzzleCell(BoardState board, int row, int column, char currentCell) {
+    if (Character.isDigit(currentCell)) {
+      board.setCell(row, column, currentCell, Character.digit(currentCell, 10), 1);
+    } else if (currentCell == 'D') {
+      board.setCell(row, column, currentCell, 1, 2);
+    } else if (currentCell == 'T') {
+      board.setCell(row, column, currentCell, 1, 3);
+    } else if (currentCell == '*') {
+      board.setCell(row, column, currentCell, 1, 2);
+    } else {
+      board.setCell(row, column, currentCell, 1, 1);
+    }
+  }
+
+  public int rows() {
+    return base.rows();
+  }
+
+  public int columns() {
+    return base.columns();
+  }
+
+  /**
+   * @return a new board in the starting state of the puzzle
+   */
+  public BoardState newBoard() {
+    return base.copy();
+  }
+
+  /**
+   * Puts a board back into the starting state of the puzzle
+   *
+   * @param board a board of the same size as the puzzle
+   */
+  public void reset(BoardState board) {
+    BoardResetEvent event = new BoardResetEvent();
+    event.begin();
+    boolean isRecording = PlacementMetrics.isEnabled();
+    long start = isRecording ? System.nanoTime() : 0;
+
+    board.copyFrom(base);
+
+    if (isRecording) {
+      PlacementMetrics.recordBoardReset(System.nanoTime() - start);
+    }
+    event.end();
+    if (event.shouldCommit()) {
+      event.rows = base.rows();
+      event.columns = base.columns();
+      event.commit();
+    }
+  }
+}
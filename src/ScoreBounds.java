@@ -0,0 +1,154 @@
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Admissible upper bounds on what each word of a solve can add to the total score, used by the
+ * search to prune the orderings that cannot beat the best one found so far. The bound of a word
+ * covers its own score and the augmented words its placement can collect:
+ *
+ * <ul>
+ *   <li>its score is at most its best score over the row and column positions of the empty
+ *       puzzle, tiles only ever dropping the word multiplier of their cell;
+ *   <li>its placement creates or extends at most one augmented word along its line and one per
+ *       letter across it, each a dictionary word, so worth at most the most valuable one.
+ * </ul>
+ */
+final class ScoreBounds {
+  private static final long UNREACHABLE = Long.MIN_VALUE / 4;
+
+  private final Map<String, Long> wordBounds = new HashMap<>();
+
+  /**
+   * @param puzzleTemplate starting state of the puzzle
+   * @param letterValues value of each letter when scoring
+   * @param maxWordValue value of the most valuable word of the dictionary, see {@link
+   *     #maxWordValue}
+   * @param words the words of the solve
+   */
+  ScoreBounds(
+      PuzzleTemplate puzzleTemplate, LetterValues letterValues, long maxWordValue, String[] words) {
+    BoardState board = puzzleTemplate.newBoard();
+    for (String word : words) {
+      long scoreBound = maxScore(board, letterValues, word);
+      long augmentedBound = saturatedProduct(word.length() + 1, Math.max(0, maxWordValue));
+
+      wordBounds.merge(word, saturatedSum(scoreBound, augmentedBound), Math::max);
+    }
+  }
+
+  /**
+   * @param word a word of the solve
+   * @return an upper bound on what placing the word adds to the total score
+   */
+  long of(String word) {
+    return wordBounds.get(word);
+  }
+
+  /**
+   * @param words the words still to place are {@code words[from..)}
+   * @param from index of the first word still to place
+   * @return an upper bound on what placing the words adds to the total score
+   */
+  long ofRemaining(String[] words, int from) {
+    long bound = 0;
+    for (int i = from; i < words.length; i++) {
+      bound = saturatedSum(bound, of(words[i]));
+    }
+    return bound;
+  }
+
+  /**
+   * @param base score of the words already placed, with their augmented words
+   * @param words the words still to place are {@code words[from..)}
+   * @param from index of the first word still to place
+   * @return an upper bound on the total score of every completion
+   */
+  long ofCompletions(int base, String[] words, int from) {
+    return saturatedSum(base, ofRemaining(words, from));
+  }
+
+  /**
+   * Walks the dictionary once, keeping the best value of the words below each node
+   *
+   * @param dictionary the allowed words
+   * @param letterValues value of each letter when scoring
+   * @return the highest sum of letter values over the words of the dictionary
+   */
+  static long maxWordValue(WordDictionary dictionary, LetterValues letterValues) {
+    long[] bestBelow = new long[dictionary.nodeCount()];
+    boolean[] isDone = new boolean[bestBelow.length];
+    return Math.max(0, bestBelow(dictionary, letterValues, dictionary.root(), bestBelow, isDone));
+  }
+
+  private static long bestBelow(
+      WordDictionary dictionary,
+      LetterValues letterValues,
+      int node,
+      long[] bestBelow,
+      boolean[] isDone) {
+    if (!isDone[node]) {
+      long best = dictionary.isWord(node) ? 0 : UNREACHABLE;
+      for (int edge = 0; edge < dictionary.edgeCount(node); edge++) {
+        long below =
+            bestBelow(
+                dictionary, letterValues, dictionary.edgeTarget(node, edge), bestBelow, isDone);
+        best = Math.max(best, letterValues.valueOf(dictionary.edgeLetter(node, edge)) + below);
+      }
+      bestBelow[node] = best;
+      isDone[node] = true;
+    }
+    return bestBelow[node];
+  }
+
+  /**
+   * @param board the board
+   * @param letterValues value of each letter when scoring
+   * @param word the word
+   * @return the highest score of the word over every row and column position of the board
+   */
+  private static long maxScore(BoardState board, LetterValues letterValues, String word) {
+    long best = Long.MIN_VALUE;
+    for (int i = 0; i < board.rows(); i++) {
+      for (int j = 0; j + word.length() <= board.columns(); j++) {
+        best = Math.max(best, maxScore(board, letterValues, word, i, j, 0, 1));
+      }
+    }
+    for (int i = 0; i + word.length() <= board.rows(); i++) {
+      for (int j = 0; j < board.columns(); j++) {
+        best = Math.max(best, maxScore(board, letterValues, word, i, j, 1, 0));
+      }
+    }
+    return best == Long.MIN_VALUE ? 0 : best;
+  }
+
+  /* Tiles drop their word multipliers, so the score of the position is between these two */
+  private static long maxScore(
+      BoardState board,
+      LetterValues letterValues,
+      String word,
+      int row,
+      int column,
+      int rowStep,
+      int columnStep) {
+    long letterSum = 0;
+    long product = 1;
+    for (int k = 0; k < word.length(); k++) {
+      int cell = board.packed(row + rowStep * k, column + columnStep * k);
+      letterSum +=
+          (long) letterValues.valueOf(word.charAt(k)) * BoardState.letterMultiplierOf(cell);
+      product = saturatedProduct(product, BoardState.wordMultiplierOf(cell));
+    }
+    return letterSum > 0 ? saturatedProduct(letterSum, product) : letterSum;
+  }
+
+  private static long saturatedProduct(long a, long b) {
+    long high = Math.multiplyHigh(a, b);
+    long low = a * b;
+    return (high == 0 && low >= 0) || (high == -1 && low < 0) ? low : Long.MAX_VALUE;
+  }
+
+  private static long saturatedSum(long a, long b) {
+    long sum = a + b;
+    return ((a ^ sum) & (b ^ sum)) < 0 ? (a > 0 ? Long.MAX_VALUE : Long.MIN_VALUE) : sum;
+  }
+}
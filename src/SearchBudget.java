@@ -0,0 +1,90 @@
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Wall-clock budget of one solve. The search polls it between placements and, once it is spent or
+ * cancelled, stops cooperatively and keeps the best ordering found so far. The search also records
+ * here an upper bound on the score of every ordering it did not explore, so that the result can
+ * tell how far from the optimum it may be.
+ */
+public class SearchBudget {
+  private static final long NOTHING_UNEXPLORED = Long.MIN_VALUE;
+
+  private final long deadline; /* System.nanoTime() value, meaningless when unlimited */
+  private final boolean isLimited;
+  private volatile boolean isCancelled;
+  private volatile boolean isStopped; /* The search left orderings unexplored for lack of time */
+  private final AtomicLong unexploredBound = new AtomicLong(NOTHING_UNEXPLORED);
+
+  private SearchBudget(long deadline, boolean isLimited) {
+    this.deadline = deadline;
+    this.isLimited = isLimited;
+  }
+
+  /**
+   * @return a budget that is spent only when cancelled
+   */
+  public static SearchBudget unlimited() {
+    return new SearchBudget(0, false);
+  }
+
+  /**
+   * @param budget the time the search may take, starting now
+   * @return the budget
+   */
+  public static SearchBudget of(Duration budget) {
+    try {
+      return new SearchBudget(System.nanoTime() + budget.toNanos(), true);
+    } catch (ArithmeticException tooLong) {
+      /* Longer than about 292 years */
+      return unlimited();
+    }
+  }
+
+  /** Asks the search to stop at its next poll, from any thread */
+  public void cancel() {
+    isCancelled = true;
+  }
+
+  /**
+   * @return true if the search should stop now
+   */
+  public boolean isExhausted() {
+    return isCancelled || (isLimited && System.nanoTime() - deadline >= 0);
+  }
+
+  /**
+   * @return true unless the search stopped before exploring everything it meant to explore
+   */
+  public boolean isComplete() {
+    return !isStopped;
+  }
+
+  /**
+   * @param score the score of the best ordering found
+   * @return how much higher the optimal score may be, 0 when the search proved the score optimal
+   */
+  public long gapTo(int score) {
+    long bound = unexploredBound.get();
+    return bound == NOTHING_UNEXPLORED ? 0 : Math.max(0, bound - Math.max(score, 0));
+  }
+
+  /**
+   * Records that the search stopped for lack of time, leaving orderings unexplored
+   *
+   * @param bound upper bound on the total score of the orderings left unexplored
+   */
+  void recordStop(long bound) {
+    isStopped = true;
+    recordUnexplored(bound);
+  }
+
+  /**
+   * Records orderings the search chose not to explore
+   *
+   * @param bound upper bound on their total score
+   */
+  void recordUnexplored(long bound) {
+    unexploredBound.accumulateAndGet(bound, Math::max);
+  }
+}
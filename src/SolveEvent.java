@@ -0,0 +1,27 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Flight Recorder event of one search for the best ordering of a set of words */
+@Name("wordplacement.Solve")
+@Label("Solve")
+@Category("Word Placement")
+@Description("Search for the ordering of a set of words with the highest total score")
+@StackTrace(false)
+class SolveEvent extends jdk.jfr.Event {
+  @Label("Strategy")
+  String strategy;
+
+  @Label("Words")
+  int words;
+
+  @Label("Score")
+  @Description("Total score of the best ordering, -1 when none could be placed")
+  int score;
+
+  @Label("Complete")
+  @Description("Whether the search finished within its budget")
+  boolean complete;
+}
@@ -0,0 +1,59 @@
+import java.util.List;
+
+/** Outcome of one request run by a {@link BatchSolver} */
+public final class SolveResult {
+  private final int score;
+  private final List<String> wordOrder;
+  private final String board;
+  private final boolean complete;
+  private final long gap;
+
+  /**
+   * @param score the score, or -1 when the words could not be placed
+   * @param wordOrder the words in the order they were placed
+   * @param board the rows of the final board, one per line
+   */
+  public SolveResult(int score, List<String> wordOrder, String board) {
+    this(score, wordOrder, board, true, 0);
+  }
+
+  /**
+   * @param score the score, or -1 when the words could not be placed
+   * @param wordOrder the words in the order they were placed
+   * @param board the rows of the final board, one per line
+   * @param complete false if the search ran out of time before exploring everything it meant to
+   * @param gap how much higher the optimal score may be, 0 when the score is known to be optimal
+   */
+  public SolveResult(int score, List<String> wordOrder, String board, boolean complete, long gap) {
+    this.score = score;
+    this.wordOrder = List.copyOf(wordOrder);
+    this.board = board;
+    this.complete = complete;
+    this.gap = gap;
+  }
+
+  public int score() {
+    return score;
+  }
+
+  public List<String> wordOrder() {
+    return wordOrder;
+  }
+
+  public String board() {
+    return board;
+  }
+
+  public boolean isComplete() {
+    return complete;
+  }
+
+  public long gap() {
+    return gap;
+  }
+
+  @Override
+  public String toString() {
+    return complete && gap == 0 ? score + " " + wordOrder : score + " " + wordOrder + " gap " + gap;
+  }
+}
@@ -0,0 +1,141 @@
+import java.io.PrintWriter;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Per-request solve state on top of shared {@link SolverResources}: the board and the words placed
+ * on it. A session is used by one thread at a time; any number of sessions can share the same
+ * resources concurrently.
+ */
+public class SolveSession {
+  private final SolverResources resources;
+  private final BoardState board; /* The game board with its letter and word multipliers */
+  private final List<String> placedWordsList = new ArrayList<>(); /* Words placed on the board */
+  private List<String> optimalPlacedWordsList = new ArrayList<>(); /* Optimal order from solve */
+
+  SolveSession(SolverResources resources) {
+    this.resources = resources;
+    this.board = resources.puzzleTemplate().newBoard();
+  }
+
+  /**
+   * Places each of the words into the puzzle, inserted in the order of the list, so that each word
+   * generates the maximum number of points from the board as the word is placed
+   *
+   * @param words list of words
+   * @return score of the placed words, or -1 if a word could not be placed
+   * @throws WordCantFitException when the first word can't fit on the given board
+   */
+  public int placeWords(List<String> words) throws WordCantFitException {
+    return resources.placeWords(board, placedWordsList, words);
+  }
+
+  /**
+   * Places the words in the order that gives the highest total score
+   *
+   * @param words set of words
+   * @return the optimal score, or -1 when no ordering could be placed
+   */
+  public int solve(Set<String> words) {
+    return solve(words, SolveStrategy.EXHAUSTIVE, SearchBudget.unlimited()).score();
+  }
+
+  /**
+   * Same as {@link #solve(Set)}, with the search split across the workers of a pool
+   *
+   * @param words set of words
+   * @param pool the pool running the search
+   * @return the optimal score, same as the sequential solver
+   */
+  public int solveParallel(Set<String> words, ForkJoinPool pool) {
+    return solve(words, SolveStrategy.exhaustive(pool), SearchBudget.unlimited()).score();
+  }
+
+  /**
+   * Searches for the best ordering within a time budget, returning the best ordering found when
+   * the budget runs out
+   *
+   * @param words set of words
+   * @param budget the time the search may take
+   * @return the result, with the gap between its score and the best bound left unexplored
+   */
+  public SolveResult solve(Set<String> words, Duration budget) {
+    return solve(words, SolveStrategy.EXHAUSTIVE, SearchBudget.of(budget));
+  }
+
+  /**
+   * Searches for the best ordering with the given strategy and places it on the board
+   *
+   * @param words set of words
+   * @param strategy the search strategy
+   * @param budget polled to stop the search, and told what the search left unexplored
+   * @return the result, with the gap between its score and the best bound left unexplored
+   */
+  public SolveResult solve(Set<String> words, SolveStrategy strategy, SearchBudget budget) {
+    if (words == null || words.isEmpty()) {
+      return new SolveResult(WordPlacement.Unsolved, List.of(), boardText());
+    }
+
+    BestOrdering best = resources.solve(strategy, words, budget);
+    int score = resources.replay(best, board, placedWordsList);
+    optimalPlacedWordsList =
+        score == WordPlacement.Unsolved ? new ArrayList<>() : new ArrayList<>(best.order());
+    return new SolveResult(
+        score, optimalPlacedWordsList, boardText(), budget.isComplete(), budget.gapTo(score));
+  }
+
+  /**
+   * @return the order of the words placed by the last solve
+   */
+  public List<String> wordOrder() {
+    return optimalPlacedWordsList;
+  }
+
+  /**
+   * @return the words placed on the board, in the order they were placed
+   */
+  public List<String> placedWords() {
+    return new ArrayList<>(placedWordsList);
+  }
+
+  /**
+   * @return the rows of the board, one per line
+   */
+  public String boardText() {
+    return boardText(board);
+  }
+
+  /**
+   * @param board a board
+   * @return the rows of the board, one per line
+   */
+  static String boardText(BoardState board) {
+    StringBuilder text = new StringBuilder(board.rows() * (board.columns() + 1));
+    for (int i = 0; i < board.rows(); i++) {
+      for (int j = 0; j < board.columns(); j++) {
+        text.append(board.letter(i, j));
+      }
+      text.append('\n');
+    }
+    return text.toString();
+  }
+
+  /**
+   * Prints the board, leaving the writer open so that several sessions can share one output
+   *
+   * @param outstream where the board is printed
+   */
+  public void print(PrintWriter outstream) {
+    outstream.print(boardText());
+    outstream.flush();
+  }
+
+  /** Puts the board back into the starting state of the puzzle */
+  public void reset() {
+    resources.puzzleTemplate().reset(board);
+    placedWordsList.clear();
+  }
+}
@@ -0,0 +1,33 @@
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A way of searching the orderings of a set of words for the highest total score. A strategy runs
+ * against shared {@link SolverResources} within a {@link SearchBudget} and returns the best
+ * ordering it found, which the session then replays on its own board.
+ */
+public interface SolveStrategy {
+  /** Branch and bound over every ordering on the calling thread, optimal when it completes */
+  SolveStrategy EXHAUSTIVE = new ExhaustiveSearch(null);
+
+  /**
+   * @param pool the pool splitting the search
+   * @return the exhaustive search split across the workers of a pool
+   */
+  static SolveStrategy exhaustive(ForkJoinPool pool) {
+    return new ExhaustiveSearch(pool);
+  }
+
+  /**
+   * @return name of the strategy and its settings, as reported by the solve events
+   */
+  String name();
+
+  /**
+   * @param resources the shared resources
+   * @param words set of words
+   * @param budget polled to stop the search, and told what the search left unexplored
+   * @return the best ordering found
+   */
+  BestOrdering search(SolverResources resources, Set<String> words, SearchBudget budget);
+}
@@ -0,0 +1,92 @@
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork/join task that explores one subtree of the permutation space of a parallel solve. The
+ * subtree is identified by the words already fixed in {@code words[0..left)}; every task works on
+ * its own copy of the word array and runs a {@link PermutationSearch} on a board of its own.
+ *
+ * <p>A subtree is split while it is large, or while there are too few subtrees at its depth to keep
+ * every worker busy, so that a small set of words is still spread over the pool.
+ */
+/* Tasks are never serialized, they hold the engine resources which are not serializable */
+@SuppressWarnings("serial")
+public class SolveTask extends RecursiveAction {
+  /*
+   * Subtrees with at most this many free words are explored on the current thread once there are
+   * enough of them. A subtree of 6 free words has 720 orderings, so a task far outweighs the cost
+   * of its own board, word array and transposition table.
+   */
+  private static final int SEQUENTIAL_THRESHOLD = 6;
+  /* Subtrees wanted per worker at least, so that the uneven ones balance out */
+  private static final int SUBTREES_PER_WORKER = 4;
+  /* A subtree of 2 free words is at most 2 placements, never worth a task of its own */
+  private static final int MIN_SPLIT = 3;
+
+  private final SolverResources resources;
+  private final String[] words;
+  private final int left;
+  private final long rank;
+  private final BestOrdering best;
+  private final ScoreBounds bounds; /* null when no ordering is pruned */
+  private final SearchBudget budget;
+
+  public SolveTask(
+      SolverResources resources,
+      String[] words,
+      int left,
+      long rank,
+      BestOrdering best,
+      ScoreBounds bounds,
+      SearchBudget budget) {
+    this.resources = resources;
+    this.words = words;
+    this.left = left;
+    this.rank = rank;
+    this.best = best;
+    this.bounds = bounds;
+    this.budget = budget;
+  }
+
+  @Override
+  protected void compute() {
+    int remaining = words.length - left;
+    if (remaining < MIN_SPLIT
+        || (remaining <= SEQUENTIAL_THRESHOLD
+            && subtreesAtDepth() >= (long) SUBTREES_PER_WORKER * getPool().getParallelism())) {
+      resources.newSearch(words, best, bounds, budget).search(left, rank);
+      return;
+    }
+
+    /* Children are created in the same order as the sequential solver visits them */
+    SolveTask[] subtasks = new SolveTask[remaining];
+    for (int i = left; i < words.length; i++) {
+      String[] childWords = words.clone();
+      swap(childWords, left, i);
+      subtasks[i - left] =
+          new SolveTask(
+              resources,
+              childWords,
+              left + 1,
+              rank * remaining + (i - left),
+              best,
+              bounds,
+              budget);
+    }
+    invokeAll(subtasks);
+  }
+
+  /* Subtrees with as many fixed words as this one, n! / (n - left)!, capped against overflow */
+  private long subtreesAtDepth() {
+    long subtrees = 1;
+    for (int i = 0; i < left && subtrees < Integer.MAX_VALUE; i++) {
+      subtrees *= words.length - i;
+    }
+    return subtrees;
+  }
+
+  private static void swap(String[] words, int i, int j) {
+    String temp = words[i];
+    words[i] = words[j];
+    words[j] = temp;
+  }
+}
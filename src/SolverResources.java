@@ -0,0 +1,242 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The immutable part of a solver: the puzzle template, the dictionary and the letter values. One
+ * instance can be shared by any number of threads, each solving its own requests through a {@link
+ * SolveSession} that holds the per-request board and results.
+ */
+public final class SolverResources {
+  private final PuzzleTemplate puzzleTemplate;
+  private final WordDictionary dictionary;
+  private final LetterValues letterValues;
+  private final PlacementCache placementCache; /* null when placements are not cached */
+  private volatile long maxWordValue = -1; /* Computed on the first solve */
+
+  /**
+   * @param puzzleTemplate starting state of the puzzle
+   * @param dictionary the allowed words
+   * @param letterValues value of each letter when scoring
+   */
+  public SolverResources(
+      PuzzleTemplate puzzleTemplate, WordDictionary dictionary, LetterValues letterValues) {
+    this(puzzleTemplate, dictionary, letterValues, null);
+  }
+
+  /**
+   * @param puzzleTemplate starting state of the puzzle
+   * @param dictionary the allowed words
+   * @param letterValues value of each letter when scoring
+   * @param placementCache cache of best placements, may be shared with other resources, or null
+   */
+  public SolverResources(
+      PuzzleTemplate puzzleTemplate,
+      WordDictionary dictionary,
+      LetterValues letterValues,
+      PlacementCache placementCache) {
+    this(puzzleTemplate, dictionary, letterValues, placementCache, -1);
+  }
+
+  /**
+   * @param puzzleTemplate starting state of the puzzle
+   * @param dictionary the allowed words
+   * @param letterValues value of each letter when scoring
+   * @param placementCache cache of best placements, may be shared with other resources, or null
+   * @param maxWordValue value of the most valuable word of the dictionary, see {@link
+   *     #maxWordValue()}, or -1 to compute it on the first solve
+   */
+  SolverResources(
+      PuzzleTemplate puzzleTemplate,
+      WordDictionary dictionary,
+      LetterValues letterValues,
+      PlacementCache placementCache,
+      long maxWordValue) {
+    this.puzzleTemplate = Objects.requireNonNull(puzzleTemplate, "puzzleTemplate");
+    this.dictionary = Objects.requireNonNull(dictionary, "dictionary");
+    this.letterValues = Objects.requireNonNull(letterValues, "letterValues");
+    this.placementCache = placementCache;
+    this.maxWordValue = maxWordValue;
+  }
+
+  public PuzzleTemplate puzzleTemplate() {
+    return puzzleTemplate;
+  }
+
+  public WordDictionary dictionary() {
+    return dictionary;
+  }
+
+  public LetterValues letterValues() {
+    return letterValues;
+  }
+
+  /**
+   * @return the cache of best placements, or null when placements are not cached
+   */
+  public PlacementCache placementCache() {
+    return placementCache;
+  }
+
+  /**
+   * @return a session on a fresh board of the puzzle
+   */
+  public SolveSession newSession() {
+    return new SolveSession(this);
+  }
+
+  /**
+   * Places the words in the order of the list, each at its highest scoring position; the board is
+   * reset when a word cannot be placed
+   *
+   * @param board the board to place the words on
+   * @param placedWordsList receives the words placed
+   * @param words list of words
+   * @return score of the placed words, or -1 if a word could not be placed
+   * @throws WordCantFitException when the first word can't fit on the given board
+   */
+  int placeWords(BoardState board, List<String> placedWordsList, List<String> words)
+      throws WordCantFitException {
+    if (words == null || words.isEmpty()) {
+      return WordPlacement.Unsolved;
+    }
+
+    PlaceWord placeWord = newPlaceWord(board, placedWordsList);
+
+    int firstWordLength = words.get(0).length();
+    if (board.columns() < firstWordLength && board.rows() < firstWordLength) {
+      throw new WordCantFitException();
+    }
+
+    int isScoreReady = placeWord.placeWords(words);
+
+    if (isScoreReady == WordPlacement.Unsolved) {
+      puzzleTemplate.reset(board);
+      placedWordsList.clear();
+    }
+
+    return isScoreReady;
+  }
+
+  /**
+   * Runs a strategy, recording its latency in the {@link PlacementMetrics} and a {@link
+   * SolveEvent} for Flight Recorder
+   *
+   * @param strategy the search strategy
+   * @param words set of words
+   * @param budget polled to stop the search, and told what the search left unexplored
+   * @return the best ordering found
+   */
+  BestOrdering solve(SolveStrategy strategy, Set<String> words, SearchBudget budget) {
+    SolveEvent event = new SolveEvent();
+    event.begin();
+    boolean isRecording = PlacementMetrics.isEnabled();
+    long start = isRecording ? System.nanoTime() : 0;
+
+    BestOrdering best = strategy.search(this, words, budget);
+
+    if (isRecording) {
+      PlacementMetrics.recordSolve(System.nanoTime() - start);
+    }
+    event.end();
+    if (event.shouldCommit()) {
+      event.strategy = strategy.name();
+      event.words = words.size();
+      event.score = best.score();
+      event.complete = budget.isComplete();
+      event.commit();
+    }
+    return best;
+  }
+
+  /**
+   * Searches every ordering of the words for the highest total score, as a branch and bound
+   * skipping the orderings that cannot reach the best score found so far
+   *
+   * @param words set of words
+   * @param pool the pool splitting the search, or null to search on the calling thread
+   * @param budget polled to stop the search
+   * @return the best ordering, optimal unless the budget ran out
+   */
+  BestOrdering search(Set<String> words, ForkJoinPool pool, SearchBudget budget) {
+    String[] wordArray = new ArrayList<>(words).toArray(new String[0]);
+    ScoreBounds bounds = scoreBounds(wordArray);
+    BestOrdering best = new BestOrdering();
+    if (pool == null) {
+      /* Depth-first search over the orderings, placing a shared prefix only once */
+      newSearch(wordArray, best, bounds, budget).search(0, 0L);
+    } else {
+      /* Same starting order as the sequential search so that ranks line up */
+      pool.invoke(new SolveTask(this, wordArray, 0, 0L, best, bounds, budget));
+    }
+    return best;
+  }
+
+  /**
+   * @param words the words of a solve
+   * @return upper bounds on what each of the words adds to the total score
+   */
+  ScoreBounds scoreBounds(String[] words) {
+    return new ScoreBounds(puzzleTemplate, letterValues, maxWordValue(), words);
+  }
+
+  /**
+   * @return value of the most valuable word of the dictionary, computed once as it walks the whole
+   *     dictionary
+   */
+  long maxWordValue() {
+    long value = maxWordValue;
+    if (value < 0) {
+      /* Racing threads compute the same value */
+      value = ScoreBounds.maxWordValue(dictionary, letterValues);
+      maxWordValue = value;
+    }
+    return value;
+  }
+
+  /**
+   * Replays the best ordering of a search on a board reset to the puzzle
+   *
+   * @param best the best ordering found
+   * @param board the board to replay the ordering on
+   * @param placedWordsList receives the words placed, left empty when no ordering could be placed
+   * @return the optimal score, or -1 when no ordering could be placed
+   */
+  int replay(BestOrdering best, BoardState board, List<String> placedWordsList) {
+    /* Replaying the winning ordering rebuilds the board the sequential solver would end with */
+    puzzleTemplate.reset(board);
+    placedWordsList.clear();
+    newPlaceWord(board, placedWordsList).placeWords(best.order());
+
+    if (best.score() == WordPlacement.Unsolved) {
+      placedWordsList.clear();
+    }
+    return best.score();
+  }
+
+  /**
+   * @param board the board to place words on
+   * @param placedWordsList receives the words placed
+   * @return a placement engine working on the given board
+   */
+  PlaceWord newPlaceWord(BoardState board, List<String> placedWordsList) {
+    return new PlaceWord(board, dictionary, letterValues, placedWordsList, placementCache);
+  }
+
+  /**
+   * Creates a search working on a board of its own. Safe to call from several threads.
+   *
+   * @param words the words to order
+   * @param best holder receiving the orderings
+   * @param bounds upper bounds of the words, or null to explore every ordering
+   * @param budget polled to stop the search
+   * @return the search
+   */
+  PermutationSearch newSearch(
+      String[] words, BestOrdering best, ScoreBounds bounds, SearchBudget budget) {
+    PlaceWord placeWord = newPlaceWord(puzzleTemplate.newBoard(), new ArrayList<>());
+    return new PermutationSearch(placeWord, words, best, bounds, budget);
+  }
+}
@@ -0,0 +1,113 @@
+/**
+ * Bounded table of the search states already explored by one {@link PermutationSearch}. A state is
+ * the board, identified by its Zobrist hash, together with the set of words still to place; its
+ * entry holds the best score the remaining words can add and every ordering of them reaching it,
+ * so that the search can credit a state reached again through a different order without exploring
+ * it. Entries live in buckets of two: the first keeps the entry with the most remaining words, the
+ * second the most recent one.
+ */
+public class TranspositionTable {
+  public static final int UNSOLVED = -1;
+  private static final int MAX_CAPACITY = 1 << 16;
+
+  private final long[] boardHashes;
+  private final long[] remainingWords; /* Bit set of the words still to place */
+  private final int[] bestScores;
+  private final String[][][] bestOrders; /* null in an empty slot */
+  private final int mask;
+  private long hits; /* Lookups finding their state, since the table was created */
+  private long misses;
+
+  /**
+   * @param capacity number of entries, rounded up to a power of two of at least 2
+   */
+  public TranspositionTable(int capacity) {
+    int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+    boardHashes = new long[size];
+    remainingWords = new long[size];
+    bestScores = new int[size];
+    bestOrders = new String[size][][];
+    mask = size - 1;
+  }
+
+  /**
+   * @param wordCount number of words being ordered
+   * @return a table sized for the states of a search over that many words
+   */
+  public static TranspositionTable forWords(int wordCount) {
+    long states = 1;
+    for (int i = 2; i <= wordCount && states < MAX_CAPACITY; i++) {
+      states *= i;
+    }
+    return new TranspositionTable((int) Math.min(states, MAX_CAPACITY));
+  }
+
+  /**
+   * @param boardHash hash of the board
+   * @param remaining bit set of the words still to place
+   * @return slot of the state, or -1 if the state is not in the table
+   */
+  public int find(long boardHash, long remaining) {
+    int bucket = bucketOf(boardHash, remaining);
+    for (int slot = bucket; slot < bucket + 2; slot++) {
+      if (bestOrders[slot] != null
+          && boardHashes[slot] == boardHash
+          && remainingWords[slot] == remaining) {
+        hits++;
+        return slot;
+      }
+    }
+    misses++;
+    return -1;
+  }
+
+  /**
+   * @param slot a slot returned by {@link #find}
+   * @return the best score the remaining words add, or -1 if they can't all be placed
+   */
+  public int bestScore(int slot) {
+    return bestScores[slot];
+  }
+
+  /**
+   * @param slot a slot returned by {@link #find}
+   * @return every ordering of the remaining words reaching the best score
+   */
+  public String[][] bestOrders(int slot) {
+    return bestOrders[slot];
+  }
+
+  /**
+   * Records an explored state
+   *
+   * @param boardHash hash of the board
+   * @param remaining bit set of the words still to place
+   * @param bestScore the best score the remaining words add, or -1 if they can't all be placed
+   * @param orders every ordering of the remaining words reaching the best score
+   */
+  public void put(long boardHash, long remaining, int bestScore, String[][] orders) {
+    int slot = bucketOf(boardHash, remaining);
+    /* The first slot is replaced only by a state at least as far from the leaves */
+    if (bestOrders[slot] != null
+        && Long.bitCount(remainingWords[slot]) > Long.bitCount(remaining)) {
+      slot++;
+    }
+    boardHashes[slot] = boardHash;
+    remainingWords[slot] = remaining;
+    bestScores[slot] = bestScore;
+    bestOrders[slot] = orders;
+  }
+
+  public long hits() {
+    return hits;
+  }
+
+  public long misses() {
+    return misses;
+  }
+
+  private int bucketOf(long boardHash, long remaining) {
+    long mixed = (boardHash ^ remaining * 0x9E3779B97F4A7C15L) * 0xBF58476D1CE4E5B9L;
+    return (int) (mixed >>> 32) & mask & ~1;
+  }
+}
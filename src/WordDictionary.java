@@ -0,0 +1,104 @@
+/**
+ * Dictionary of the words allowed on the board, exposed as a letter automaton so that callers can
+ * walk it one letter at a time instead of building a String for every lookup. Nodes are plain int
+ * ids; {@link #NONE} is returned when a walk leaves the automaton.
+ */
+public interface WordDictionary {
+  int NONE = -1;
+
+  /**
+   * @return the node every walk starts from
+   */
+  int root();
+
+  /**
+   * Follows the edge of a node labelled with the given letter
+   *
+   * @param node the node, may be {@link #NONE}
+   * @param letter the letter
+   * @return the node reached, or {@link #NONE} if there is no such edge
+   */
+  int child(int node, char letter);
+
+  /**
+   * @param node the node, may be {@link #NONE}
+   * @return true if the letters walked to reach the node form a word
+   */
+  boolean isWord(int node);
+
+  /**
+   * @param node the node
+   * @return number of outgoing edges of the node
+   */
+  int edgeCount(int node);
+
+  /**
+   * @param node the node
+   * @param edge index of the edge, edges are sorted by letter
+   * @return the letter of the edge
+   */
+  char edgeLetter(int node, int edge);
+
+  /**
+   * @param node the node
+   * @param edge index of the edge, edges are sorted by letter
+   * @return the node the edge leads to
+   */
+  int edgeTarget(int node, int edge);
+
+  /**
+   * @return number of words in the dictionary
+   */
+  int size();
+
+  /**
+   * @return number of nodes, the ids of the nodes being {@code 0} to {@code nodeCount() - 1}
+   */
+  int nodeCount();
+
+  /**
+   * Follows the given letters starting from a node
+   *
+   * @param node the node to start from
+   * @param letters the letters to follow
+   * @return the node reached, or {@link #NONE} if the walk leaves the automaton
+   */
+  default int walk(int node, CharSequence letters) {
+    for (int i = 0; i < letters.length() && node != NONE; i++) {
+      node = child(node, letters.charAt(i));
+    }
+    return node;
+  }
+
+  /**
+   * Follows the letters {@code letters[from..to)} starting from a node
+   *
+   * @param node the node to start from
+   * @param letters the letters
+   * @param from first letter to follow
+   * @param to end of the letters to follow, exclusive
+   * @return the node reached, or {@link #NONE} if the walk leaves the automaton
+   */
+  default int walk(int node, char[] letters, int from, int to) {
+    for (int i = from; i < to && node != NONE; i++) {
+      node = child(node, letters[i]);
+    }
+    return node;
+  }
+
+  /**
+   * @param word the word to be searched
+   * @return true if the word is in the dictionary
+   */
+  default boolean contains(CharSequence word) {
+    return isWord(walk(root(), word));
+  }
+
+  /**
+   * @param prefix the prefix to be searched
+   * @return true if at least one word of the dictionary starts with the prefix
+   */
+  default boolean hasPrefix(CharSequence prefix) {
+    return walk(root(), prefix) != NONE;
+  }
+}
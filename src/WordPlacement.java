@@ -2,25 +2,25 @@ import java.io.IOException;
 import java.util.*;
 import java.io.BufferedReader;
 import java.io.PrintWriter;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
 
 public class WordPlacement {
   /* CONSTANTS */
   public static final int Unsolved = -1;
 
   /* DATA STRUCTURES */
-  private char[][] board; /* Represents the game board */
-  private char[][] optimalBoard; /* Represents the optimal game board */
-  private int[][] letterMultipliers; /* Stores letter multipliers for each cell */
-  private int[][] wordMultipliers; /* Stores word multipliers for each cell */
+  private BoardState board; /* Represents the game board with its letter and word multipliers */
   private int totalScore;
-  private Set<String> dictionarySet = new HashSet<>();
-  private Map<Character, Integer> letterValueMap = new HashMap<>();
+  private WordDictionary wordDictionary; /* Compiled dictionary of the allowed words */
+  private LetterValues letterValues; /* Value of each letter when scoring */
   private List<String> placedWordsList = new ArrayList<>(); /* List of words placed on the board */
   private List<String> optimalPlacedWordsList = new ArrayList<>(); /* List of optimal words placed on the board */
 
   /* HELPERS */
-  private String[] initialPuzzleStream; /* used to initialize or reset to default value */
-  private ValidateStream validateStream = new ValidateStream();
+  private PuzzleTemplate puzzleTemplate; /* used to initialize or reset to default value */
+  private SolverResources resources; /* Built on first use, dropped whenever a resource is loaded */
   private boolean[] exceptionArray = {false, false, false}; /* { Board, Dictionary, LetterValue } */
 
   /**
@@ -32,24 +32,20 @@ public class WordPlacement {
    */
   public boolean loadBoard(BufferedReader puzzleStream) throws IOException {
     if (puzzleStream != null) {
-      List<String> lines = new ArrayList<>();
-      String line;
-      boolean isValidAndReady;
-
-      while ((line = puzzleStream.readLine()) != null) {
-        lines.add(line.trim());
-      }
+      PuzzleTemplate tempPuzzle = PuzzleTemplate.read(puzzleStream);
 
       puzzleStream.close();
 
-      isValidAndReady = validateStream.validatePuzzle(lines.toArray(new String[0]));
       /* If stream is valid and ready to use, initialize the board */
-      if (isValidAndReady) {
-        initialPuzzleStream = validateStream.removeTrailingBlanks(lines.toArray(new String[0]));
+      if (tempPuzzle != null) {
+        puzzleTemplate = tempPuzzle;
+        resources = null;
+        board = puzzleTemplate.newBoard();
         initializeBoard();
         exceptionArray[0] = true;
+        return true;
       }
-      return isValidAndReady;
+      return false;
     }
     return false;
   }
@@ -63,20 +59,52 @@ public class WordPlacement {
    * @throws IOException when there is an issue reading the file
    */
   public boolean dictionary(BufferedReader wordStream) throws IOException {
-    if (wordStream != null) {
-      List<String> lines = new ArrayList<>();
-      Set<String> tempDict;
-      String line;
+    return dictionary(wordStream, new DictionaryLoader());
+  }
 
-      while ((line = wordStream.readLine()) != null) {
-        lines.add(line.trim());
-      }
+  /**
+   * Same as {@link #dictionary(BufferedReader)}, but validates and sorts chunks of the stream in
+   * parallel on the common pool; meant for large word lists.
+   *
+   * @param wordStream Stream of dictionary words
+   * @return true if this dictionary is ready to be used for the puzzle
+   * @throws IOException when there is an issue reading the file
+   */
+  public boolean dictionaryParallel(BufferedReader wordStream) throws IOException {
+    return dictionary(
+        wordStream,
+        new DictionaryLoader(ForkJoinPool.commonPool(), DictionaryLoader.DEFAULT_CHUNK_SIZE));
+  }
+
+  /**
+   * Uses a dictionary image written by {@link DictionaryCompiler} as the dictionary of the words
+   * that will be allowed on the board. The image is memory-mapped and queried in place, so it is
+   * shared with every other process that maps it.
+   *
+   * @param image path of the dictionary image
+   * @return true if this dictionary is ready to be used for the puzzle
+   * @throws IOException when the file cannot be read or is not a dictionary image
+   */
+  public boolean dictionaryImage(Path image) throws IOException {
+    if (image != null) {
+      wordDictionary = MappedDawg.open(image);
+      resources = null;
+      exceptionArray[1] = true;
+      return true;
+    }
+    return false;
+  }
+
+  private boolean dictionary(BufferedReader wordStream, DictionaryLoader loader)
+      throws IOException {
+    if (wordStream != null) {
+      WordDictionary tempDict = loader.load(wordStream);
 
       wordStream.close();
 
-      tempDict = validateStream.validateDictionary(lines.toArray(new String[0]));
       if (tempDict != null) {
-        dictionarySet = tempDict;
+        wordDictionary = tempDict;
+        resources = null;
         exceptionArray[1] = true;
         return true;
       } else {
@@ -95,19 +123,13 @@ public class WordPlacement {
    */
   public boolean letterValue(BufferedReader valueStream) throws IOException {
     if (valueStream != null) {
-      List<String> lines = new ArrayList<>();
-      Map<Character, Integer> tempLetterValue;
-      String line;
-
-      while ((line = valueStream.readLine()) != null) {
-        lines.add(line.trim());
-      }
+      LetterValues tempLetterValue = LetterValues.read(valueStream);
 
       valueStream.close();
 
-      tempLetterValue = validateStream.validateLetterValue(lines.toArray(new String[0]));
       if (tempLetterValue != null) {
-        letterValueMap = tempLetterValue;
+        letterValues = tempLetterValue;
+        resources = null;
         exceptionArray[2] = true;
         return true;
       } else {
@@ -127,9 +149,9 @@ public class WordPlacement {
     if (!exceptionArray[0]) {
       throw new BoardNotLoadedException();
     }
-    for (int i = 0; i < board.length; i++) {
-      for (int j = 0; j < board[i].length; j++) {
-        char currentCell = board[i][j];
+    for (int i = 0; i < board.rows(); i++) {
+      for (int j = 0; j < board.columns(); j++) {
+        char currentCell = board.letter(i, j);
         outstream.print(currentCell);
       }
       outstream.println();
@@ -155,46 +177,13 @@ public class WordPlacement {
           DictionaryNotLoadedException,
           LetterValueNotLoadedException,
           WordCantFitException {
-    if (!exceptionArray[0]) {
-      throw new BoardNotLoadedException();
-    }
-
-    if (!exceptionArray[1]) {
-      throw new DictionaryNotLoadedException();
-    }
-
-    if (!exceptionArray[2]) {
-      throw new LetterValueNotLoadedException();
-    }
+    SolverResources resources = resources();
 
     if (words == null || words.isEmpty()) {
       return Unsolved;
     }
 
-    PlaceWord placeWord =
-        new PlaceWord(
-            board,
-            letterMultipliers,
-            wordMultipliers,
-            dictionarySet,
-            letterValueMap,
-            placedWordsList);
-
-    for (int i = 0; i < board.length; i++) {
-      for (int j = 0; j < board[i].length; j++) {
-        if (board[i].length < words.get(0).length() && board.length < words.get(0).length()) {
-          throw new WordCantFitException();
-        }
-      }
-    }
-
-    int isScoreReady = placeWord.placeWords(words);
-
-    if (isScoreReady == Unsolved) {
-      initializeBoard();
-    }
-
-    return isScoreReady;
+    return resources.placeWords(board, placedWordsList, words);
   }
 
   /* Methods for the bonus parts of the assignment */
@@ -202,148 +191,164 @@ public class WordPlacement {
   public int solve(Set<String> words)
       throws BoardNotLoadedException, DictionaryNotLoadedException, LetterValueNotLoadedException {
 
-    if (!exceptionArray[0]) {
-      throw new BoardNotLoadedException();
-    }
+    SolverResources resources = resources();
 
-    if (!exceptionArray[1]) {
-      throw new DictionaryNotLoadedException();
+    if (words == null || words.isEmpty()) {
+      return Unsolved;
     }
 
-    if (!exceptionArray[2]) {
-      throw new LetterValueNotLoadedException();
-    }
+    return adoptBest(
+        resources, resources.solve(SolveStrategy.EXHAUSTIVE, words, SearchBudget.unlimited()));
+  }
+
+  /**
+   * Parallel variant of {@link #solve(Set)} running on the common fork/join pool
+   *
+   * @param words set of words
+   * @return the optimal score, same as the sequential solver
+   * @throws BoardNotLoadedException When the board is not loaded in the system
+   * @throws DictionaryNotLoadedException when the dictionary is not loaded in the system
+   * @throws LetterValueNotLoadedException when the letter value pair is not loaded in the system
+   */
+  public int solveParallel(Set<String> words)
+      throws BoardNotLoadedException, DictionaryNotLoadedException, LetterValueNotLoadedException {
+    return solveParallel(words, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Parallel variant of {@link #solve(Set)}. The permutation space is split into independent
+   * subtrees which are explored by the workers of the given pool, each on its own boards. The best
+   * ordering is shared through a lock-free {@link BestOrdering} and replayed on this board at the
+   * end, so the score, word order and board match the sequential solver.
+   *
+   * @param words set of words
+   * @param pool the pool running the search
+   * @return the optimal score, same as the sequential solver
+   * @throws BoardNotLoadedException When the board is not loaded in the system
+   * @throws DictionaryNotLoadedException when the dictionary is not loaded in the system
+   * @throws LetterValueNotLoadedException when the letter value pair is not loaded in the system
+   */
+  public int solveParallel(Set<String> words, ForkJoinPool pool)
+      throws BoardNotLoadedException, DictionaryNotLoadedException, LetterValueNotLoadedException {
+
+    SolverResources resources = resources();
 
     if (words == null || words.isEmpty()) {
       return Unsolved;
     }
 
-    List<List<String>> possibleCombinations = generateCombinations(words);
-
-    int isOptimalScoreReady = -1;
-    PlaceWord placeWord;
-
-    for (List<String> currentCombination : possibleCombinations) {
-      initializeBoard();
-      placeWord =
-          new PlaceWord(
-              board,
-              letterMultipliers,
-              wordMultipliers,
-              dictionarySet,
-              letterValueMap,
-              placedWordsList);
-      int currentCombinationScore = placeWord.placeWords(currentCombination);
-      if (currentCombinationScore >= isOptimalScoreReady) {
-        isOptimalScoreReady = currentCombinationScore;
-        optimalBoard = board;
-        optimalPlacedWordsList = currentCombination;
-      }
-    }
-
-    if (isOptimalScoreReady == Unsolved) {
-      optimalPlacedWordsList = new ArrayList<>();
-      initializeBoard();
-    }
-    board = optimalBoard;
-    return isOptimalScoreReady;
+    return adoptBest(
+        resources,
+        resources.solve(SolveStrategy.exhaustive(pool), words, SearchBudget.unlimited()));
   }
 
-  public List<String> wordOrder() {
-    return optimalPlacedWordsList;
+  /**
+   * Anytime variant of {@link #solve(Set)}: the search stops cooperatively when the budget runs
+   * out and the best ordering found so far is placed on the board
+   *
+   * @param words set of words
+   * @param budget the time the search may take
+   * @return the result, telling whether the search completed and how much higher the optimal
+   *     score may be
+   * @throws BoardNotLoadedException When the board is not loaded in the system
+   * @throws DictionaryNotLoadedException when the dictionary is not loaded in the system
+   * @throws LetterValueNotLoadedException when the letter value pair is not loaded in the system
+   */
+  public SolveResult solve(Set<String> words, Duration budget)
+      throws BoardNotLoadedException, DictionaryNotLoadedException, LetterValueNotLoadedException {
+    return solve(words, SolveStrategy.EXHAUSTIVE, budget);
   }
 
-  /* HELPER FUNCTIONS */
-
-  /** Initializes the board, letterMultipliers and wordMultipliers from input stream */
-  private void initializeBoard() {
-    String[] puzzleStream = initialPuzzleStream;
-    int numOfRows = puzzleStream.length;
-    int numOfColumns = puzzleStream[0].length();
+  /**
+   * Searches for the best ordering with the given strategy, such as a {@link BeamSearch}, within a
+   * time budget and places it on the board
+   *
+   * @param words set of words
+   * @param strategy the search strategy
+   * @param budget the time the search may take
+   * @return the result, telling whether the search completed and how much higher the optimal
+   *     score may be
+   * @throws BoardNotLoadedException When the board is not loaded in the system
+   * @throws DictionaryNotLoadedException when the dictionary is not loaded in the system
+   * @throws LetterValueNotLoadedException when the letter value pair is not loaded in the system
+   */
+  public SolveResult solve(Set<String> words, SolveStrategy strategy, Duration budget)
+      throws BoardNotLoadedException, DictionaryNotLoadedException, LetterValueNotLoadedException {
 
-    board = new char[numOfRows][numOfColumns];
-    letterMultipliers = new int[numOfRows][numOfColumns];
-    wordMultipliers = new int[numOfRows][numOfColumns];
-    placedWordsList = new ArrayList<>();
+    SolverResources resources = resources();
 
-    for (int i = 0; i < numOfRows; i++) {
-      String currentRow = puzzleStream[i];
-      for (int j = 0; j < numOfColumns; j++) {
-        char currentCell = currentRow.charAt(j);
-
-        board[i][j] = currentCell;
-
-        if (Character.isDigit(currentCell)) {
-          letterMultipliers[i][j] = Integer.parseInt(String.valueOf(currentCell));
-          wordMultipliers[i][j] = 1;
-        } else if (currentCell == 'D') {
-          letterMultipliers[i][j] = 1;
-          wordMultipliers[i][j] = 2;
-        } else if (currentCell == 'T') {
-          letterMultipliers[i][j] = 1;
-          wordMultipliers[i][j] = 3;
-        } else if (currentCell == '*') {
-          letterMultipliers[i][j] = 1;
-          wordMultipliers[i][j] = 2;
-        } else {
-          letterMultipliers[i][j] = 1;
-          wordMultipliers[i][j] = 1;
-        }
-      }
+    if (words == null || words.isEmpty()) {
+      return new SolveResult(Unsolved, List.of(), SolveSession.boardText(board));
     }
+
+    SearchBudget searchBudget = SearchBudget.of(budget);
+    int score = adoptBest(resources, resources.solve(strategy, words, searchBudget));
+    return new SolveResult(
+        score,
+        optimalPlacedWordsList,
+        SolveSession.boardText(board),
+        searchBudget.isComplete(),
+        searchBudget.gapTo(score));
+  }
+
+  public List<String> wordOrder() {
+    return optimalPlacedWordsList;
   }
 
   /**
-   * Method to generate combinations
+   * Snapshot of the loaded board, dictionary and letter values, to be shared by concurrent {@link
+   * SolveSession}s or a {@link BatchSolver}. Later loads on this instance do not affect it. The
+   * same instance is returned until a resource is loaded again, so that what it computes once,
+   * such as the value of the most valuable word of the dictionary, is not computed for every solve.
    *
-   * @param words the words
-   * @return list of list of combinations
+   * @return the loaded resources
+   * @throws BoardNotLoadedException When the board is not loaded in the system
+   * @throws DictionaryNotLoadedException when the dictionary is not loaded in the system
+   * @throws LetterValueNotLoadedException when the letter value pair is not loaded in the system
    */
-  private List<List<String>> generateCombinations(Set<String> words) {
-    List<List<String>> result = new ArrayList<>();
-    List<String> wordList = new ArrayList<>(words);
-    int n = wordList.size();
+  public SolverResources resources()
+      throws BoardNotLoadedException, DictionaryNotLoadedException, LetterValueNotLoadedException {
+    if (!exceptionArray[0]) {
+      throw new BoardNotLoadedException();
+    }
 
-    generateCombinationsHelper(result, wordList, 0, n - 1);
+    if (!exceptionArray[1]) {
+      throw new DictionaryNotLoadedException();
+    }
 
-    return result;
+    if (!exceptionArray[2]) {
+      throw new LetterValueNotLoadedException();
+    }
+
+    if (resources == null) {
+      resources = new SolverResources(puzzleTemplate, wordDictionary, letterValues);
+    }
+    return resources;
   }
 
+  /* HELPER FUNCTIONS */
+
   /**
-   * Recursive helper function to generate combinations using backtracking
+   * Adopts the best ordering found by a search as the result of this instance
    *
-   * @param result the result
-   * @param words the words
-   * @param left helps keep track of which elements have already been included in the combination
-   * @param right helps limit the range of elements that can be swapped during each step of the
-   *     combination
+   * @param resources the resources the search ran with
+   * @param best the best ordering found
+   * @return the optimal score, or -1 when no ordering could be placed
    */
-  private void generateCombinationsHelper(
-      List<List<String>> result, List<String> words, int left, int right) {
-    /* If we have reached the end of the word list, we have a complete combinations */
-    if (left == right) {
-      result.add(new ArrayList<>(words));
+  private int adoptBest(SolverResources resources, BestOrdering best) {
+    int isOptimalScoreReady = resources.replay(best, board, placedWordsList);
+
+    if (isOptimalScoreReady == Unsolved) {
+      optimalPlacedWordsList = new ArrayList<>();
     } else {
-      for (int i = left; i <= right; i++) {
-        swap(words, left, i);
-        /* Recursively generate permutations for the remaining elements */
-        generateCombinationsHelper(result, words, left + 1, right);
-        /* Backtrack by swapping the elements back to their original positions */
-        swap(words, left, i);
-      }
+      optimalPlacedWordsList = new ArrayList<>(best.order());
     }
+    return isOptimalScoreReady;
   }
 
-  /**
-   * Utility function to swap elements at two positions in the list
-   *
-   * @param words the words
-   * @param i i'th position
-   * @param j j'th position
-   */
-  private void swap(List<String> words, int i, int j) {
-    String temp = words.get(i);
-    words.set(i, words.get(j));
-    words.set(j, temp);
+  /** Resets the board to the starting state of the puzzle */
+  private void initializeBoard() {
+    puzzleTemplate.reset(board);
+    placedWordsList = new ArrayList<>();
   }
 }
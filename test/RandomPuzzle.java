@@ -0,0 +1,110 @@
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Small random puzzle for checking the solvers against a brute force: a board of 7 to 14 cells a
+ * side with premium cells, a dictionary of short words over five letters, so that words cross
+ * often, random letter values and 2 to 6 words taken from the dictionary.
+ */
+class RandomPuzzle {
+  private static final char[] CELLS = {'.', '.', '.', '.', '2', '3', 'D', 'T'};
+
+  final String puzzle;
+  final String dictionary;
+  final String values;
+  final List<String> words;
+
+  /**
+   * @param seed seed of the generator
+   */
+  RandomPuzzle(long seed) {
+    Random random = new Random(seed);
+
+    int size = 7 + random.nextInt(8);
+    int startRow = size / 2 - 1 + random.nextInt(3);
+    int startColumn = size / 2 - 1 + random.nextInt(3);
+    StringBuilder board = new StringBuilder();
+    for (int i = 0; i < size; i++) {
+      for (int j = 0; j < size; j++) {
+        boolean isStart = i == startRow && j == startColumn;
+        board.append(isStart ? '*' : CELLS[random.nextInt(CELLS.length)]);
+      }
+      board.append('\n');
+    }
+    puzzle = board.toString();
+
+    Set<String> entries = new LinkedHashSet<>();
+    int entryCount = 50 + random.nextInt(300);
+    for (int k = 0; k < entryCount; k++) {
+      StringBuilder word = new StringBuilder();
+      int length = 2 + random.nextInt(4);
+      for (int q = 0; q < length; q++) {
+        word.append("abcde".charAt(random.nextInt(5)));
+      }
+      entries.add(word.toString());
+    }
+    dictionary = String.join("\n", entries) + "\n";
+
+    StringBuilder letterValues = new StringBuilder();
+    for (char letter = 'a'; letter <= 'z'; letter++) {
+      letterValues.append(letter).append('\t').append(1 + random.nextInt(5)).append('\n');
+    }
+    values = letterValues.toString();
+
+    List<String> entryList = new ArrayList<>(entries);
+    Set<String> chosen = new LinkedHashSet<>();
+    int wordCount = 2 + random.nextInt(5);
+    while (chosen.size() < wordCount) {
+      chosen.add(entryList.get(random.nextInt(entryList.size())));
+    }
+    words = new ArrayList<>(chosen);
+  }
+
+  /**
+   * @return an engine with this puzzle, its dictionary and letter values loaded
+   * @throws Exception never for a generated puzzle
+   */
+  WordPlacement load() throws Exception {
+    WordPlacement wordPlacement = new WordPlacement();
+    wordPlacement.loadBoard(reader(puzzle));
+    wordPlacement.dictionary(reader(dictionary));
+    wordPlacement.letterValue(reader(values));
+    return wordPlacement;
+  }
+
+  /**
+   * Places the words in every order with the greedy placement, each order on a fresh board
+   *
+   * @return the highest total score, or -1 when no order can be placed
+   * @throws Exception never for a generated puzzle
+   */
+  int bruteForceScore() throws Exception {
+    SolverResources resources = load().resources();
+    return bruteForce(resources, new ArrayList<>(words), 0);
+  }
+
+  private static int bruteForce(SolverResources resources, List<String> order, int fixed)
+      throws WordCantFitException {
+    if (fixed == order.size()) {
+      BoardState board = resources.puzzleTemplate().newBoard();
+      return resources.placeWords(board, new ArrayList<>(), order);
+    }
+    int best = WordPlacement.Unsolved;
+    for (int i = fixed; i < order.size(); i++) {
+      Collections.swap(order, fixed, i);
+      best = Math.max(best, bruteForce(resources, order, fixed + 1));
+      Collections.swap(order, fixed, i);
+    }
+    return best;
+  }
+
+  static BufferedReader reader(String text) {
+    return new BufferedReader(new StringReader(text));
+  }
+}
@@ -0,0 +1,63 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import org.junit.jupiter.api.Test;
+
+class calculateScoreOnBoardTest {
+  private static final int CALLS = 100_000;
+
+  @Test
+  void scoresPremiumCells() throws Exception {
+    PlaceWord placeWord = placeWord();
+
+    /* c on D (word x2), a on 2 (letter x2), t on a plain cell */
+    assertEquals((3 + 2 * 1 + 1) * 2, placeWord.calculateScoreOnBoard(0, 0, "cat", true));
+    /* t on T (word x3) */
+    assertEquals((3 + 1 + 1) * 3, placeWord.calculateScoreOnBoard(0, 2, "cat", false));
+  }
+
+  @Test
+  void allocatesNothingPerCall() throws Exception {
+    PlaceWord placeWord = placeWord();
+    com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    int sink = 0;
+    for (int i = 0; i < CALLS; i++) {
+      sink += score(placeWord, i);
+    }
+    long before = threads.getCurrentThreadAllocatedBytes();
+    for (int i = 0; i < CALLS; i++) {
+      sink += score(placeWord, i);
+    }
+    long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+    assertEquals(0, allocated / CALLS, "bytes allocated per call, " + sink);
+  }
+
+  private static int score(PlaceWord placeWord, int i) {
+    return placeWord.calculateScoreOnBoard(i % 3, 0, "cat", true)
+        + placeWord.calculateScoreOnBoard(0, i % 3, "cat", false);
+  }
+
+  private static PlaceWord placeWord() throws Exception {
+    StringBuilder values = new StringBuilder();
+    for (char letter = 'a'; letter <= 'z'; letter++) {
+      values.append(letter).append('\t').append(letter == 'c' ? 3 : 1).append('\n');
+    }
+    WordPlacement wordPlacement = new WordPlacement();
+    wordPlacement.loadBoard(reader("D2.\n.*.\n..T\n"));
+    wordPlacement.dictionary(reader("cat\n"));
+    wordPlacement.letterValue(reader(values.toString()));
+
+    SolverResources resources = wordPlacement.resources();
+    return resources.newPlaceWord(resources.puzzleTemplate().newBoard(), new ArrayList<>());
+  }
+
+  private static BufferedReader reader(String text) {
+    return new BufferedReader(new StringReader(text));
+  }
+}
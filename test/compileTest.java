@@ -0,0 +1,118 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class compileTest {
+
+  static LongStream seeds() {
+    return LongStream.range(0, 200);
+  }
+
+  /* "a" and "ab" are prefixes of other words, "ac" only a prefix */
+  @Test
+  void prefixesOfWords() {
+    Dawg dictionary = Dawg.compile(List.of("abc", "ab", "a", "acd"));
+
+    assertEquals(4, dictionary.size());
+    assertTrue(dictionary.contains("a"));
+    assertTrue(dictionary.contains("ab"));
+    assertFalse(dictionary.contains("ac"));
+    assertTrue(dictionary.hasPrefix("ac"));
+    assertFalse(dictionary.hasPrefix("abcd"));
+    assertFalse(dictionary.hasPrefix("b"));
+  }
+
+  @Test
+  void builderRejectsDescendingWords() {
+    DawgBuilder builder = new DawgBuilder();
+    builder.add("b");
+    builder.add("b");
+
+    assertThrows(IllegalArgumentException.class, () -> builder.add("a"));
+  }
+
+  /*
+   * Random words, some of them prefixes of others, over alphabets small enough to share many
+   * prefixes and suffixes and large enough for edge lists that are binary searched
+   */
+  @ParameterizedTest
+  @MethodSource("seeds")
+  void matchesHashSet(long seed) {
+    Random random = new Random(seed);
+    int alphabet = seed % 4 == 0 ? 26 : 2 + random.nextInt(4);
+    List<String> words = new ArrayList<>();
+    for (int count = 1 + random.nextInt(120); count > 0; count--) {
+      String word = randomWord(random, alphabet, 1 + random.nextInt(7));
+      words.add(word);
+      if (random.nextInt(4) == 0) {
+        words.add(word.substring(0, 1 + random.nextInt(word.length())));
+      }
+      if (random.nextInt(8) == 0) {
+        words.add(word);
+      }
+    }
+
+    Set<String> wordSet = new HashSet<>(words);
+    Set<String> prefixes = new HashSet<>();
+    for (String word : wordSet) {
+      for (int length = 0; length <= word.length(); length++) {
+        prefixes.add(word.substring(0, length));
+      }
+    }
+
+    Dawg dictionary = Dawg.compile(words);
+
+    assertEquals(wordSet.size(), dictionary.size());
+    assertEquals(minimalNodeCount(wordSet, prefixes), dictionary.nodeCount());
+    List<String> queries = new ArrayList<>(prefixes);
+    for (int query = 0; query < 300; query++) {
+      queries.add(randomWord(random, alphabet + 1, 1 + random.nextInt(8)));
+    }
+    for (String query : queries) {
+      assertEquals(wordSet.contains(query), dictionary.contains(query), query);
+      assertEquals(prefixes.contains(query), dictionary.hasPrefix(query), query);
+    }
+  }
+
+  /**
+   * Counts the distinct sets of endings of the prefixes of the words, the nodes of the minimal
+   * graph
+   *
+   * @param words the words
+   * @param prefixes every prefix of the words, including the empty one
+   * @return number of nodes of the minimal graph
+   */
+  private static int minimalNodeCount(Set<String> words, Set<String> prefixes) {
+    Set<Set<String>> endings = new HashSet<>();
+    for (String prefix : prefixes) {
+      Set<String> prefixEndings = new TreeSet<>();
+      for (String word : words) {
+        if (word.startsWith(prefix)) {
+          prefixEndings.add(word.substring(prefix.length()));
+        }
+      }
+      endings.add(prefixEndings);
+    }
+    return endings.size();
+  }
+
+  private static String randomWord(Random random, int alphabet, int length) {
+    StringBuilder word = new StringBuilder();
+    for (int k = 0; k < length; k++) {
+      word.append((char) ('a' + random.nextInt(alphabet)));
+    }
+    return word.toString();
+  }
+}
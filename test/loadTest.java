@@ -0,0 +1,148 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class loadTest {
+  private static ForkJoinPool pool;
+
+  @BeforeAll
+  static void startPool() {
+    /* More workers than the test machine may have cores, so that chunks run out of order */
+    pool = new ForkJoinPool(3);
+  }
+
+  @AfterAll
+  static void stopPool() {
+    pool.shutdown();
+  }
+
+  static LongStream seeds() {
+    return LongStream.range(0, 300);
+  }
+
+  @Test
+  void unsorted() throws Exception {
+    assertEquals(List.of("ab", "b", "ba", "c"), assertLoads("c\nb\nba\nab\n"));
+  }
+
+  @Test
+  void duplicates() throws Exception {
+    assertEquals(List.of("a", "b"), assertLoads("b\na\nb\na\na\n"));
+  }
+
+  /* Blank lines and spaces around a word are dropped */
+  @Test
+  void trailingBlankLines() throws Exception {
+    assertEquals(List.of("a", "b"), assertLoads(" b \na\n\n  \n\r\n"));
+  }
+
+  @Test
+  void lineWithSpace() throws Exception {
+    assertNull(assertLoads("a\nb c\nd\n"));
+  }
+
+  @Test
+  void blankLineBeforeWord() throws Exception {
+    assertNull(assertLoads("a\n\nb\n"));
+  }
+
+  @Test
+  void noWords() throws Exception {
+    assertNull(assertLoads(""));
+    assertNull(assertLoads("\n  \n"));
+  }
+
+  /* With chunks of two lines, the blank line ends one chunk and the next word starts another */
+  @Test
+  void blankLineAtEndOfChunk() throws Exception {
+    assertNull(assertLoads("b\n\na\n"));
+    assertEquals(List.of("a", "b"), assertLoads("b\na\n\n"));
+  }
+
+  /* Short words over few letters, so that most streams have duplicates and prefixes */
+  @ParameterizedTest
+  @MethodSource("seeds")
+  void matchesValidation(long seed) throws Exception {
+    Random random = new Random(seed);
+    StringBuilder stream = new StringBuilder();
+    for (int line = random.nextInt(60); line > 0; line--) {
+      int kind = random.nextInt(40);
+      if (kind == 0) {
+        stream.append('\n');
+      } else if (kind == 1 && seed % 5 == 0) {
+        stream.append("a b\n");
+      } else if (kind == 2) {
+        stream.append("  \n");
+      } else {
+        for (int letter = 1 + random.nextInt(4); letter > 0; letter--) {
+          stream.append((char) ('a' + random.nextInt(4)));
+        }
+        stream.append('\n');
+      }
+    }
+    for (int line = random.nextInt(3); line > 0; line--) {
+      stream.append('\n');
+    }
+
+    assertLoads(stream.toString());
+  }
+
+  /**
+   * Loads a stream sequentially and in chunks of several sizes, and checks every result against
+   * {@link ValidateStream#validateDictionary}
+   *
+   * @param stream the dictionary text
+   * @return the loaded words in ascending order, or null if the stream is not a valid dictionary
+   */
+  private static List<String> assertLoads(String stream) throws IOException {
+    String[] lines = stream.lines().map(String::trim).toArray(String[]::new);
+    Set<String> validated = new ValidateStream().validateDictionary(lines);
+    List<String> expected = validated == null ? null : new ArrayList<>(new TreeSet<>(validated));
+
+    assertEquals(expected, wordsOf(new DictionaryLoader(), stream), "sequential");
+    for (int chunkSize : new int[] {1, 2, 3, 5, DictionaryLoader.DEFAULT_CHUNK_SIZE}) {
+      DictionaryLoader loader = new DictionaryLoader(pool, chunkSize);
+      assertEquals(expected, wordsOf(loader, stream), "chunks of " + chunkSize);
+    }
+    return expected;
+  }
+
+  private static List<String> wordsOf(DictionaryLoader loader, String stream) throws IOException {
+    Dawg dictionary = loader.load(new BufferedReader(new StringReader(stream)));
+    if (dictionary == null) {
+      return null;
+    }
+
+    List<String> words = new ArrayList<>();
+    collect(dictionary, dictionary.root(), new StringBuilder(), words);
+    assertEquals(words.size(), dictionary.size());
+    return words;
+  }
+
+  private static void collect(
+      WordDictionary dictionary, int node, StringBuilder letters, List<String> words) {
+    if (dictionary.isWord(node)) {
+      words.add(letters.toString());
+    }
+    for (int edge = 0; edge < dictionary.edgeCount(node); edge++) {
+      letters.append(dictionary.edgeLetter(node, edge));
+      collect(dictionary, dictionary.edgeTarget(node, edge), letters, words);
+      letters.setLength(letters.length() - 1);
+    }
+  }
+}
@@ -0,0 +1,173 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class openTest {
+  private static final int HEADER_BYTES = 5 * Integer.BYTES;
+
+  @TempDir Path directory;
+
+  /* Compiled from the word list, written, mapped and queried, against the text loader */
+  @Test
+  void roundTripMatchesTextLoader() throws Exception {
+    for (long seed = 0; seed < 20; seed++) {
+      Random random = new Random(seed);
+      List<String> words = randomWords(random);
+      Path wordList = directory.resolve("words" + seed + ".txt");
+      Files.write(wordList, words, StandardCharsets.UTF_8);
+      Path image = directory.resolve("words" + seed + ".dawg");
+
+      BufferedReader reader = new BufferedReader(new StringReader(String.join("\n", words)));
+      Dawg loaded = new DictionaryLoader().load(reader);
+      MappedDawg.write(DictionaryCompiler.compile(wordList), image);
+      MappedDawg mapped = MappedDawg.open(image);
+
+      assertEquals(loaded.size(), mapped.size());
+      assertEquals(loaded.nodeCount(), mapped.nodeCount());
+      assertEquals(new ArrayList<>(new TreeSet<>(words)), wordsOf(mapped));
+      for (int query = 0; query < 500; query++) {
+        String letters = randomWord(random, 1 + random.nextInt(6));
+        assertEquals(loaded.contains(letters), mapped.contains(letters), letters);
+        assertEquals(loaded.hasPrefix(letters), mapped.hasPrefix(letters), letters);
+      }
+    }
+  }
+
+  @Test
+  void wrongMagic() throws Exception {
+    byte[] image = image();
+    ByteBuffer.wrap(image).order(ByteOrder.LITTLE_ENDIAN).putInt(0, 0x12345678);
+
+    assertRejected(image, "Not a dictionary image");
+  }
+
+  @Test
+  void wrongVersion() throws Exception {
+    byte[] image = image();
+    ByteBuffer.wrap(image).order(ByteOrder.LITTLE_ENDIAN).putInt(4, MappedDawg.VERSION + 1);
+
+    assertRejected(image, "Not a dictionary image");
+  }
+
+  @Test
+  void truncated() throws Exception {
+    byte[] image = image();
+
+    for (int length : new int[] {0, 3, HEADER_BYTES, image.length / 2, image.length - 1}) {
+      Path file = directory.resolve("truncated" + length + ".dawg");
+      Files.write(file, Arrays.copyOf(image, length));
+      assertThrows(IOException.class, () -> MappedDawg.open(file), "length " + length);
+    }
+  }
+
+  @Test
+  void edgeToMissingNode() throws Exception {
+    byte[] image = image();
+    ByteBuffer buffer = ByteBuffer.wrap(image).order(ByteOrder.LITTLE_ENDIAN);
+    buffer.putInt(edgeTargetsStart(buffer), nodeCount(buffer));
+
+    assertRejected(image, "Corrupt dictionary image: edge to missing node " + nodeCount(buffer));
+  }
+
+  /* Every node is reachable from the root, so an edge back to the root closes a cycle */
+  @Test
+  void cycle() throws Exception {
+    byte[] image = image();
+    ByteBuffer buffer = ByteBuffer.wrap(image).order(ByteOrder.LITTLE_ENDIAN);
+    int lastEdge = edgeTargetsStart(buffer) + (edgeCount(buffer) - 1) * Integer.BYTES;
+    buffer.putInt(lastEdge, 0);
+
+    assertRejected(image, "Corrupt dictionary image: cycle through node 0");
+  }
+
+  /* The root has the edges of "a" and "b", swapped */
+  @Test
+  void unsortedLetters() throws Exception {
+    byte[] image = image();
+    ByteBuffer buffer = ByteBuffer.wrap(image).order(ByteOrder.LITTLE_ENDIAN);
+    int edgeLettersStart = edgeTargetsStart(buffer) + edgeCount(buffer) * Integer.BYTES;
+    char first = buffer.getChar(edgeLettersStart);
+    buffer.putChar(edgeLettersStart, buffer.getChar(edgeLettersStart + Character.BYTES));
+    buffer.putChar(edgeLettersStart + Character.BYTES, first);
+
+    assertRejected(image, "Corrupt dictionary image: letters of node 0 unsorted");
+  }
+
+  /* Image of a few words that are prefixes of one another */
+  private byte[] image() throws IOException {
+    Path file = directory.resolve("valid.dawg");
+    MappedDawg.write(Dawg.compile(List.of("a", "ab", "abc", "b", "bc", "cab")), file);
+    return Files.readAllBytes(file);
+  }
+
+  private void assertRejected(byte[] image, String message) throws IOException {
+    Path file = directory.resolve("corrupt.dawg");
+    Files.write(file, image);
+    IOException error = assertThrows(IOException.class, () -> MappedDawg.open(file));
+    assertEquals(message, error.getMessage());
+  }
+
+  private static int nodeCount(ByteBuffer image) {
+    return image.getInt(3 * Integer.BYTES);
+  }
+
+  private static int edgeCount(ByteBuffer image) {
+    return image.getInt(4 * Integer.BYTES);
+  }
+
+  private static int edgeTargetsStart(ByteBuffer image) {
+    return HEADER_BYTES + (nodeCount(image) + 1) * Integer.BYTES;
+  }
+
+  /* Short words over few letters, so that many are prefixes of others */
+  private static List<String> randomWords(Random random) {
+    List<String> words = new ArrayList<>();
+    int count = 1 + random.nextInt(300);
+    for (int k = 0; k < count; k++) {
+      words.add(randomWord(random, 1 + random.nextInt(5)));
+    }
+    return words;
+  }
+
+  private static String randomWord(Random random, int length) {
+    StringBuilder word = new StringBuilder();
+    for (int k = 0; k < length; k++) {
+      word.append("abcd".charAt(random.nextInt(4)));
+    }
+    return word.toString();
+  }
+
+  /* Every word of the graph in ascending order, walking its edges */
+  private static List<String> wordsOf(WordDictionary dictionary) {
+    List<String> words = new ArrayList<>();
+    collect(dictionary, dictionary.root(), new StringBuilder(), words);
+    return words;
+  }
+
+  private static void collect(
+      WordDictionary dictionary, int node, StringBuilder letters, List<String> words) {
+    if (dictionary.isWord(node)) {
+      words.add(letters.toString());
+    }
+    for (int edge = 0; edge < dictionary.edgeCount(node); edge++) {
+      letters.append(dictionary.edgeLetter(node, edge));
+      collect(dictionary, dictionary.edgeTarget(node, edge), letters, words);
+      letters.setLength(letters.length() - 1);
+    }
+  }
+}
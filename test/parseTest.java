@@ -0,0 +1,113 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class parseTest {
+
+  @Test
+  void secondStartCell() {
+    assertFormatError("*..\n.*.\n", 2, 2, "Second start cell, the first is at line 1, column 1");
+  }
+
+  @Test
+  void shortRow() {
+    assertFormatError("*..\n..\n", 2, 3, "Row shorter than the first row, of 3");
+  }
+
+  /* The trailing blanks are trimmed, the row ends at the first of them */
+  @Test
+  void shortRowWithTrailingBlanks() {
+    assertFormatError("*..\n..  \n", 2, 3, "Row shorter than the first row, of 3");
+  }
+
+  @Test
+  void longRow() {
+    assertFormatError("*..\n....\n", 2, 4, "Row longer than the first row, of 3");
+  }
+
+  @Test
+  void blankLineBeforeRow() {
+    assertFormatError("*..\n\n...\n", 2, 1, "Blank line before a row");
+  }
+
+  @Test
+  void blankLineBeforeFirstRow() {
+    assertFormatError("\n*..\n", 1, 1, "Blank line before a row");
+  }
+
+  @Test
+  void interiorBlank() {
+    assertFormatError("*..\n. .\n", 2, 2, "Invalid character ' ' (U+0020)");
+  }
+
+  @Test
+  void invalidCharacter() {
+    assertFormatError("*..\n.0.\n", 2, 2, "Invalid character '0' (U+0030)");
+  }
+
+  /* A "\r\n" ends a single line */
+  @Test
+  void crlfLineEndings() {
+    assertFormatError("*..\r\n...\r\n..\r\n", 3, 3, "Row shorter than the first row, of 3");
+  }
+
+  @Test
+  void crLineEndings() {
+    assertFormatError("*..\r...\r.x.\r", 3, 2, "Invalid character 'x' (U+0078)");
+  }
+
+  @Test
+  void missingStartCell() {
+    assertFormatError("...\n...\n", 3, 1, "No start cell");
+  }
+
+  @Test
+  void emptyPuzzle() {
+    assertFormatError(" \n\n", 1, 1, "Empty puzzle");
+  }
+
+  /* The columns are counted in characters, not in the bytes of their encoding */
+  @Test
+  void byteBuffer() {
+    ByteBuffer bytes = ByteBuffer.wrap("*..\n.é.\n".getBytes(StandardCharsets.UTF_8));
+
+    PuzzleFormatException error =
+        assertThrows(PuzzleFormatException.class, () -> PuzzleParser.parse(bytes));
+
+    assertPosition(error, 2, 2, "Invalid character 'é' (U+00E9)");
+    assertEquals(0, bytes.position());
+  }
+
+  @Test
+  void trailingBlankLinesAreDropped() throws Exception {
+    PuzzleTemplate template = PuzzleParser.parse(new StringReader("..\n*2\n\n  \r\n"));
+
+    assertEquals(2, template.rows());
+    assertEquals(2, template.columns());
+    assertEquals(2, template.newBoard().letterMultiplier(1, 1));
+  }
+
+  private static void assertFormatError(String puzzle, int line, int column, String reason) {
+    PuzzleFormatException error =
+        assertThrows(
+            PuzzleFormatException.class, () -> PuzzleParser.parse(new StringReader(puzzle)));
+    assertPosition(error, line, column, reason);
+
+    /* The mapped file path reports the same position */
+    ByteBuffer bytes = ByteBuffer.wrap(puzzle.getBytes(StandardCharsets.UTF_8));
+    PuzzleFormatException bufferError =
+        assertThrows(PuzzleFormatException.class, () -> PuzzleParser.parse(bytes));
+    assertPosition(bufferError, line, column, reason);
+  }
+
+  private static void assertPosition(
+      PuzzleFormatException error, int line, int column, String reason) {
+    assertEquals(line, error.line());
+    assertEquals(column, error.column());
+    assertEquals("line " + line + ", column " + column + ": " + reason, error.getMessage());
+  }
+}
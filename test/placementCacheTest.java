@@ -0,0 +1,184 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class placementCacheTest {
+  private static final BoardState BOARD = new BoardState(3, 3);
+
+  static LongStream seeds() {
+    return LongStream.range(0, 100);
+  }
+
+  @Test
+  void capacityBelowSegments() {
+    assertThrows(IllegalArgumentException.class, () -> new PlacementCache(15));
+  }
+
+  @Test
+  void counters() {
+    PlacementCache cache = new PlacementCache(1024);
+    PlacementCache.Placement placement = PlacementCache.Placement.crossWord();
+
+    assertNull(cache.get(BOARD, "ab", 1, 1));
+    cache.put(BOARD, "ab", 1, 1, placement);
+    assertSame(placement, cache.get(BOARD, "ab", 1, 1));
+    assertSame(placement, cache.get(BOARD, "ab", 1, 1));
+
+    assertEquals(2, cache.hits());
+    assertEquals(1, cache.misses());
+    assertEquals(0, cache.evictions());
+    assertEquals(1, cache.size());
+    assertEquals("hits=2 misses=1 evictions=0 size=1", cache.toString());
+  }
+
+  @Test
+  void keyedByBoardWordDictionaryAndValues() {
+    PlacementCache cache = new PlacementCache(1024);
+    cache.put(BOARD, "ab", 1, 2, PlacementCache.Placement.crossWord());
+    BoardState otherBoard = BOARD.copy();
+    otherBoard.setLetter(0, 0, 'a');
+
+    assertNull(cache.get(BOARD, "ab", 3, 2));
+    assertNull(cache.get(BOARD, "ab", 1, 3));
+    assertNull(cache.get(BOARD, "ba", 1, 2));
+    assertNull(cache.get(otherBoard, "ab", 1, 2));
+    assertNull(cache.get(new BoardState(3, 4), "ab", 1, 2));
+    assertNotNull(cache.get(BOARD, "ab", 1, 2));
+  }
+
+  @Test
+  void capacityIsEnforced() {
+    PlacementCache cache = new PlacementCache(64);
+    for (int k = 0; k < 1000; k++) {
+      cache.put(BOARD, "w" + k, 1, 1, PlacementCache.Placement.crossWord());
+    }
+
+    assertTrue(cache.size() <= 64, cache.toString());
+    assertEquals(1000, cache.size() + cache.evictions());
+  }
+
+  /* With two entries per segment, the least recently used of three keys of a segment goes */
+  @Test
+  void segmentEvictsLeastRecentlyUsed() {
+    List<String> segment = new ArrayList<>();
+    segment.add("w0");
+    for (int k = 1; segment.size() < 3; k++) {
+      if (sameSegment("w0", "w" + k)) {
+        segment.add("w" + k);
+      }
+    }
+    String first = segment.get(0);
+    String second = segment.get(1);
+    String third = segment.get(2);
+
+    PlacementCache cache = new PlacementCache(32);
+    cache.put(BOARD, first, 1, 1, PlacementCache.Placement.crossWord());
+    cache.put(BOARD, second, 1, 1, PlacementCache.Placement.crossWord());
+    assertNotNull(cache.get(BOARD, first, 1, 1));
+    cache.put(BOARD, third, 1, 1, PlacementCache.Placement.crossWord());
+
+    assertEquals(1, cache.evictions());
+    assertNull(cache.get(BOARD, second, 1, 1));
+    assertNotNull(cache.get(BOARD, first, 1, 1));
+    assertNotNull(cache.get(BOARD, third, 1, 1));
+  }
+
+  /* Every ordering placed with a cache, then again from the cache, matches the board scan */
+  @ParameterizedTest
+  @MethodSource("seeds")
+  void cachedPlacementsMatchScan(long seed) throws Exception {
+    RandomPuzzle puzzle = new RandomPuzzle(seed);
+    SolverResources scanned = puzzle.load().resources();
+    PlacementCache cache = new PlacementCache(4096);
+    SolverResources cached =
+        new SolverResources(
+            scanned.puzzleTemplate(), scanned.dictionary(), scanned.letterValues(), cache);
+
+    Random random = new Random(seed);
+    List<String> order = new ArrayList<>(puzzle.words);
+    for (int pass = 0; pass < 8; pass++) {
+      Collections.shuffle(order, random);
+      String expected = placed(scanned, order);
+      assertEquals(expected, placed(cached, order), order.toString());
+      long hits = cache.hits();
+      assertEquals(expected, placed(cached, order), order.toString());
+      assertTrue(cache.hits() > hits, cache.toString());
+    }
+  }
+
+  /* An equal dictionary or value table loaded again is another resource, and misses */
+  @Test
+  void otherDictionaryOrValuesMiss() throws Exception {
+    RandomPuzzle puzzle = new RandomPuzzle(1);
+    SolverResources first = puzzle.load().resources();
+    SolverResources second = puzzle.load().resources();
+    PlacementCache cache = new PlacementCache(4096);
+
+    placed(withCache(first, first, cache), puzzle.words);
+    long misses = cache.misses();
+    assertTrue(misses > 0);
+    placed(withCache(first, first, cache), puzzle.words);
+    assertEquals(misses, cache.misses());
+
+    long hits = cache.hits();
+    placed(withCache(second, first, cache), puzzle.words);
+    assertEquals(2 * misses, cache.misses());
+    placed(withCache(first, second, cache), puzzle.words);
+    assertEquals(3 * misses, cache.misses());
+    assertEquals(hits, cache.hits());
+  }
+
+  /**
+   * @param dictionary resources giving the puzzle and the dictionary
+   * @param values resources giving the letter values
+   * @param cache the placement cache
+   * @return resources with the dictionary of one and the letter values of another
+   */
+  private static SolverResources withCache(
+      SolverResources dictionary, SolverResources values, PlacementCache cache) {
+    return new SolverResources(
+        dictionary.puzzleTemplate(), dictionary.dictionary(), values.letterValues(), cache);
+  }
+
+  /**
+   * Places words in order on a fresh board
+   *
+   * @param resources the resources placing the words
+   * @param order the words, in placement order
+   * @return the score, the placed words and the final board
+   */
+  private static String placed(SolverResources resources, List<String> order) throws Exception {
+    BoardState board = resources.puzzleTemplate().newBoard();
+    List<String> placedWords = new ArrayList<>();
+    int score = resources.placeWords(board, placedWords, order);
+
+    StringBuilder text = new StringBuilder().append(score).append(placedWords).append('\n');
+    for (int row = 0; row < board.rows(); row++) {
+      for (int column = 0; column < board.columns(); column++) {
+        text.append(board.letter(row, column));
+      }
+      text.append('\n');
+    }
+    return text.toString();
+  }
+
+  /* With a single entry per segment, the second key evicts the first when they share a segment */
+  private static boolean sameSegment(String first, String second) {
+    PlacementCache cache = new PlacementCache(16);
+    cache.put(BOARD, first, 1, 1, PlacementCache.Placement.crossWord());
+    cache.put(BOARD, second, 1, 1, PlacementCache.Placement.crossWord());
+    return cache.evictions() == 1;
+  }
+}
@@ -0,0 +1,164 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class solveTest {
+  private static ForkJoinPool pool;
+
+  @BeforeAll
+  static void startPool() {
+    /* More workers than the test machine may have cores, so that the search is always split */
+    pool = new ForkJoinPool(4);
+  }
+
+  @AfterAll
+  static void stopPool() {
+    pool.shutdown();
+  }
+
+  static LongStream seeds() {
+    return LongStream.range(0, 150);
+  }
+
+  /* Branch and bound with the transposition table, the default solve */
+  @ParameterizedTest
+  @MethodSource("seeds")
+  void solveMatchesBruteForce(long seed) throws Exception {
+    RandomPuzzle puzzle = new RandomPuzzle(seed);
+    WordPlacement wordPlacement = puzzle.load();
+
+    int score = wordPlacement.solve(new HashSet<>(puzzle.words));
+
+    assertEquals(puzzle.bruteForceScore(), score);
+    assertReplays(puzzle, wordPlacement, score);
+  }
+
+  @ParameterizedTest
+  @MethodSource("seeds")
+  void solveParallelMatchesBruteForce(long seed) throws Exception {
+    RandomPuzzle puzzle = new RandomPuzzle(seed);
+    WordPlacement wordPlacement = puzzle.load();
+
+    int score = wordPlacement.solveParallel(new HashSet<>(puzzle.words), pool);
+
+    assertEquals(puzzle.bruteForceScore(), score);
+    assertReplays(puzzle, wordPlacement, score);
+  }
+
+  /* Without bounds nothing is pruned, so only the transposition table skips orderings */
+  @ParameterizedTest
+  @MethodSource("seeds")
+  void transpositionTableMatchesBruteForce(long seed) throws Exception {
+    RandomPuzzle puzzle = new RandomPuzzle(seed);
+    SolverResources resources = puzzle.load().resources();
+    BestOrdering best = new BestOrdering();
+
+    resources
+        .newSearch(puzzle.words.toArray(new String[0]), best, null, SearchBudget.unlimited())
+        .search(0, 0L);
+
+    assertEquals(puzzle.bruteForceScore(), best.score());
+  }
+
+  /* Beam search may miss the best ordering, but never all of them */
+  @ParameterizedTest
+  @MethodSource("seeds")
+  void beamSearchFindsAnOrderingWhenOneExists(long seed) throws Exception {
+    RandomPuzzle puzzle = new RandomPuzzle(seed);
+    int bruteForceScore = puzzle.bruteForceScore();
+
+    for (int width : new int[] {1, 2, 4}) {
+      WordPlacement wordPlacement = puzzle.load();
+      SolveResult result =
+          wordPlacement.solve(
+              new HashSet<>(puzzle.words), new BeamSearch(width), Duration.ofSeconds(30));
+
+      if (bruteForceScore == WordPlacement.Unsolved) {
+        assertEquals(WordPlacement.Unsolved, result.score());
+      } else {
+        assertNotEquals(WordPlacement.Unsolved, result.score(), "width " + width);
+        assertTrue(result.score() <= bruteForceScore, "width " + width);
+        assertEquals(
+            result.score(), puzzle.load().placeWords(new ArrayList<>(result.wordOrder())));
+      }
+    }
+  }
+
+  /*
+   * Two words sharing no letter with the others can only be placed first, so no ordering exists;
+   * beam search gives up after a bounded number of placements instead of trying every ordering
+   */
+  @Test
+  void beamSearchGivesUpOnAnUnplaceableSet() throws Exception {
+    RandomPuzzle puzzle = new RandomPuzzle(0);
+    WordPlacement wordPlacement = new WordPlacement();
+    wordPlacement.loadBoard(RandomPuzzle.reader(puzzle.puzzle));
+    wordPlacement.dictionary(RandomPuzzle.reader(puzzle.dictionary + "xyz\nqvw\n"));
+    wordPlacement.letterValue(RandomPuzzle.reader(puzzle.values));
+    Set<String> words = new HashSet<>(Arrays.asList(puzzle.dictionary.split("\n")).subList(0, 8));
+    words.add("xyz");
+    words.add("qvw");
+
+    PlacementMetrics.reset();
+    PlacementMetrics.enable();
+    SolveResult result;
+    try {
+      result = wordPlacement.solve(words, new BeamSearch(1), Duration.ofSeconds(30));
+    } finally {
+      PlacementMetrics.disable();
+    }
+
+    assertEquals(WordPlacement.Unsolved, result.score());
+    assertTrue(result.isComplete());
+    assertTrue(result.gap() > 0);
+    /* The allowance of 8192 and one more descent of the beam, nothing near the 10! orderings */
+    assertTrue(PlacementMetrics.snapshot().placements() <= 8192 + 10 * 10 * 10);
+  }
+
+  /* Enough iterations to play every ordering, so the search ends proven optimal */
+  @ParameterizedTest
+  @MethodSource("seeds")
+  void monteCarloSearchMatchesBruteForce(long seed) throws Exception {
+    RandomPuzzle puzzle = new RandomPuzzle(seed);
+    int bruteForceScore = puzzle.bruteForceScore();
+
+    for (ForkJoinPool searchPool : new ForkJoinPool[] {null, pool}) {
+      WordPlacement wordPlacement = puzzle.load();
+      SolveResult result =
+          wordPlacement.solve(
+              new HashSet<>(puzzle.words),
+              new MonteCarloSearch(20_000, searchPool, seed),
+              Duration.ofSeconds(30));
+
+      assertEquals(bruteForceScore, result.score());
+      assertTrue(result.isComplete());
+      assertEquals(0, result.gap());
+      if (result.score() != WordPlacement.Unsolved) {
+        assertEquals(
+            result.score(), puzzle.load().placeWords(new ArrayList<>(result.wordOrder())));
+      }
+    }
+  }
+
+  /* The reported order placed again on an empty board gives the reported score */
+  private static void assertReplays(RandomPuzzle puzzle, WordPlacement solved, int score)
+      throws Exception {
+    if (score == WordPlacement.Unsolved) {
+      return;
+    }
+    assertEquals(score, puzzle.load().placeWords(new ArrayList<>(solved.wordOrder())));
+  }
+}